@@ -0,0 +1,137 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.scoreboard.benchmarks;
+
+import io.github.portlek.scoreboard.line.AnimatedLine;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * a class that benchmarks every animated line type on the advancing board ticks.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+public class AnimatedLineBenchmark {
+
+  /**
+   * the observer.
+   */
+  private static final String OBSERVER = "observer-1";
+
+  /**
+   * the framed.
+   */
+  private final AnimatedLine<String> framed = AnimatedLine.framed("&atest", "&btes", "&cte", "&dt");
+
+  /**
+   * the highlighted.
+   */
+  private final AnimatedLine<String> highlighted = AnimatedLine.highlighted("scoreboard.example.net", "&e&l", "&6&l");
+
+  /**
+   * the long scrolled, which synthesizes its frames on demand.
+   */
+  private final AnimatedLine<String> longScrolled = AnimatedLine.scrolled(
+    "&aWelcome to the server! ".repeat(64), 4, 32, new BenchmarkColor('f'));
+
+  /**
+   * the phased.
+   */
+  private final AnimatedLine<String> phased = this.framed.withPhase(String::length);
+
+  /**
+   * the scrolled.
+   */
+  private final AnimatedLine<String> scrolled = AnimatedLine.scrolled(
+    "&aWelcome to the &bserver&a, have fun!", 4, 16, new BenchmarkColor('f'));
+
+  /**
+   * the tick.
+   */
+  private long tick;
+
+  /**
+   * applies the framed line.
+   *
+   * @return applied line.
+   */
+  @Benchmark
+  public String framed() {
+    return this.framed.apply(AnimatedLineBenchmark.OBSERVER, this.tick++);
+  }
+
+  /**
+   * applies the highlighted line.
+   *
+   * @return applied line.
+   */
+  @Benchmark
+  public String highlighted() {
+    return this.highlighted.apply(AnimatedLineBenchmark.OBSERVER, this.tick++);
+  }
+
+  /**
+   * applies the long scrolled line.
+   *
+   * @return applied line.
+   */
+  @Benchmark
+  public String longScrolled() {
+    return this.longScrolled.apply(AnimatedLineBenchmark.OBSERVER, this.tick++);
+  }
+
+  /**
+   * applies the phased line.
+   *
+   * @return applied line.
+   */
+  @Benchmark
+  public String phased() {
+    return this.phased.apply(AnimatedLineBenchmark.OBSERVER, this.tick++);
+  }
+
+  /**
+   * applies the scrolled line.
+   *
+   * @return applied line.
+   */
+  @Benchmark
+  public String scrolled() {
+    return this.scrolled.apply(AnimatedLineBenchmark.OBSERVER, this.tick++);
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.scoreboard.benchmarks;
+
+import io.github.portlek.scoreboard.line.LineColor;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a class that represents the line colors of the benchmarks, which translate the legacy Minecraft color codes.
+ */
+@RequiredArgsConstructor
+final class BenchmarkColor implements LineColor {
+
+  /**
+   * the codes.
+   */
+  private static final String CODES = "0123456789abcdefklmnor";
+
+  /**
+   * the color char.
+   */
+  private static final char COLOR_CHAR = '\u00a7';
+
+  /**
+   * the code.
+   */
+  private final char code;
+
+  @NotNull
+  @Override
+  public String format(@NotNull final String text) {
+    final var chars = text.toCharArray();
+    for (var index = 0; index < chars.length - 1; index++) {
+      if (chars[index] == '&' && BenchmarkColor.CODES.indexOf(Character.toLowerCase(chars[index + 1])) != -1) {
+        chars[index] = BenchmarkColor.COLOR_CHAR;
+        chars[index + 1] = Character.toLowerCase(chars[index + 1]);
+      }
+    }
+    return new String(chars);
+  }
+
+  @Nullable
+  @Override
+  public LineColor getByChar(final char charAt) {
+    return BenchmarkColor.CODES.indexOf(charAt) == -1 ? null : new BenchmarkColor(charAt);
+  }
+
+  @Override
+  public char getColorChar() {
+    return BenchmarkColor.COLOR_CHAR;
+  }
+
+  @NotNull
+  @Override
+  public String toString() {
+    return String.valueOf(BenchmarkColor.COLOR_CHAR) + this.code;
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.scoreboard.benchmarks;
+
+import io.github.portlek.scoreboard.line.Line;
+import io.github.portlek.scoreboard.line.LineCompiler;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * a class that benchmarks the same line which is built as a merged line, a template line and a compiled line.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+public class LineBenchmark {
+
+  /**
+   * the observer.
+   */
+  private static final String OBSERVER = "observer-1";
+
+  /**
+   * the placeholders.
+   */
+  private static final Map<String, Function<String, String>> PLACEHOLDERS = Map.of(
+    "kills", observer -> String.valueOf(observer.length()),
+    "name", Function.identity());
+
+  /**
+   * the template.
+   */
+  private static final String TEMPLATE = "&aKills: {kills} &7| {name}";
+
+  /**
+   * the compiled.
+   */
+  private final Line<String> compiled = LineCompiler.compile(LineBenchmark.TEMPLATE, LineBenchmark.PLACEHOLDERS);
+
+  /**
+   * the merged.
+   */
+  private final Line<String> merged = Line.merged(
+    Line.immutable("&aKills: "),
+    Line.dynamic(observer -> String.valueOf(observer.length())),
+    Line.immutable(" &7| "),
+    Line.dynamic(Function.identity()));
+
+  /**
+   * the template.
+   */
+  private final Line<String> template = Line.template(LineBenchmark.TEMPLATE, LineBenchmark.PLACEHOLDERS);
+
+  /**
+   * applies the compiled line.
+   *
+   * @return applied line.
+   */
+  @Benchmark
+  public String compiled() {
+    return this.compiled.apply(LineBenchmark.OBSERVER);
+  }
+
+  /**
+   * applies the merged line.
+   *
+   * @return applied line.
+   */
+  @Benchmark
+  public String merged() {
+    return this.merged.apply(LineBenchmark.OBSERVER);
+  }
+
+  /**
+   * applies the template line.
+   *
+   * @return applied line.
+   */
+  @Benchmark
+  public String template() {
+    return this.template.apply(LineBenchmark.OBSERVER);
+  }
+}
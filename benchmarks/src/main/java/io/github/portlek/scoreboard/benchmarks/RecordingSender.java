@@ -0,0 +1,74 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.scoreboard.benchmarks;
+
+import io.github.portlek.scoreboard.Board;
+import io.github.portlek.scoreboard.ScoreboardSender;
+import io.github.portlek.scoreboard.line.Line;
+import io.github.portlek.scoreboard.line.LineColor;
+import java.util.Collection;
+import java.util.List;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * a class that represents scoreboard senders which render the lines through the render pipeline of the board and
+ * record the rendered characters instead of sending them, like a platform sender does before touching the platform.
+ */
+@RequiredArgsConstructor
+final class RecordingSender implements ScoreboardSender<String> {
+
+  /**
+   * the color.
+   */
+  @NotNull
+  private final LineColor color;
+
+  /**
+   * the recorded character count.
+   */
+  @Getter
+  private long recorded;
+
+  @Override
+  public void close() {
+  }
+
+  @Override
+  public void send(@NotNull final Board<String> board, @NotNull final Collection<String> observers,
+                   @NotNull final List<Line<String>> lines) {
+    final var renderer = board.getRenderer();
+    var recorded = 0L;
+    for (final var observer : observers) {
+      recorded += renderer.render(board.getTitleLine(), observer, this.color).length();
+      for (final var line : lines) {
+        recorded += renderer.render(line, observer, this.color).length();
+      }
+    }
+    this.recorded += recorded;
+  }
+}
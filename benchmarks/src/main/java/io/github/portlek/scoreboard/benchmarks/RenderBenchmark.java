@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.scoreboard.benchmarks;
+
+import io.github.portlek.scoreboard.Board;
+import io.github.portlek.scoreboard.line.AnimatedLine;
+import io.github.portlek.scoreboard.line.Line;
+import io.github.portlek.scoreboard.line.LineColor;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * a class that benchmarks a board tick end to end, from the observer resolution to the rendered and color translated
+ * lines of every observer.
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+public class RenderBenchmark {
+
+  /**
+   * the observer count.
+   */
+  @Param({"10", "100", "1000", "5000"})
+  public int observers;
+
+  /**
+   * the board.
+   */
+  private Board<String> board;
+
+  /**
+   * the sender.
+   */
+  private RecordingSender sender;
+
+  /**
+   * creates the board.
+   */
+  @Setup
+  public void setup() {
+    final List<String> observers = IntStream.range(0, this.observers)
+      .mapToObj(index -> "observer-" + index)
+      .collect(Collectors.toUnmodifiableList());
+    final var color = new BenchmarkColor('f');
+    this.sender = new RecordingSender(LineColor.cached(color));
+    this.board = Board.newBuilder(String.class)
+      .addDynamicObserverList(() -> observers)
+      .setGroupKey(observer -> observer.length())
+      .setTitleLine(AnimatedLine.highlighted("scoreboard.example.net", "&e&l", "&6&l"))
+      .addLines(
+        Line.immutable("&7&m----------------", color),
+        Line.global(() -> "&fOnline: &a" + observers.size()),
+        Line.grouped(observer -> "&fGroup: &b" + observer.length()),
+        Line.dynamic(observer -> "&fName: &e" + observer),
+        Line.template("&fKills: &c{kills}", Map.of("kills", observer -> String.valueOf(observer.hashCode() & 15))),
+        AnimatedLine.framed(color, "&a*", "&2*"),
+        AnimatedLine.scrolled("&aWelcome to the &bserver&a, have fun!", 4, 16, color))
+      .setScoreboardSender(this.sender)
+      .build();
+    this.board.reset();
+  }
+
+  /**
+   * closes the board.
+   */
+  @TearDown
+  public void tearDown() {
+    this.board.close();
+  }
+
+  /**
+   * ticks the board.
+   *
+   * @return recorded character count, to keep the rendered lines alive.
+   */
+  @Benchmark
+  public long tick() {
+    this.board.send();
+    return this.sender.getRecorded();
+  }
+}
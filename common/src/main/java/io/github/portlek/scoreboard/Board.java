@@ -33,17 +33,20 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -69,10 +72,15 @@ public final class Board<O> implements Closeable {
    */
   private static final Map<String, Board<?>> BOARDS = new ConcurrentHashMap<>();
 
+  /**
+   * the aligned.
+   */
+  private final boolean aligned;
+
   /**
    * the async scheduler.
    */
-  @NotNull
+  @Nullable
   private final ScheduledExecutorService asyncScheduler;
 
   /**
@@ -93,6 +101,17 @@ public final class Board<O> implements Closeable {
   @NotNull
   private final Collection<Predicate<O>> filters;
 
+  /**
+   * the filter refresh interval, counted in board ticks.
+   */
+  private final long filterRefreshInterval;
+
+  /**
+   * the group key.
+   */
+  @Nullable
+  private final Function<O, ?> groupKey;
+
   /**
    * the id.
    */
@@ -105,11 +124,16 @@ public final class Board<O> implements Closeable {
   @NotNull
   private final List<Line<O>> lines;
 
+  /**
+   * the metrics.
+   */
+  @NotNull
+  private final ScoreboardMetrics metrics;
+
   /**
    * the mutable board.
    */
-  private final ThreadLocal<MutableBoard<O>> mutableBoard = ThreadLocal.withInitial(() ->
-    new MutableBoard<>(this));
+  private final AtomicReference<MutableBoard<O>> mutableBoard = new AtomicReference<>();
 
   /**
    * the observer class.
@@ -123,6 +147,12 @@ public final class Board<O> implements Closeable {
   @NotNull
   private final Collection<Predicate<O>> removeIf;
 
+  /**
+   * the renderer.
+   */
+  @NotNull
+  private final BoardRenderer<O> renderer;
+
   /**
    * the run after.
    */
@@ -135,12 +165,40 @@ public final class Board<O> implements Closeable {
   @NotNull
   private final Collection<Consumer<O>> runBefore;
 
+  /**
+   * the scheduler.
+   */
+  @NotNull
+  private final BoardScheduler scheduler;
+
   /**
    * the scoreboard sender.
    */
   @NotNull
   private final ScoreboardSender<O> scoreboardSender;
 
+  /**
+   * the shard executor.
+   */
+  @NotNull
+  private final Executor shardExecutor;
+
+  /**
+   * the shard key.
+   */
+  @NotNull
+  private final Function<O, ?> shardKey;
+
+  /**
+   * the shard threshold.
+   */
+  private final int shardThreshold;
+
+  /**
+   * the shards.
+   */
+  private final int shards;
+
   /**
    * the start delay.
    */
@@ -152,6 +210,11 @@ public final class Board<O> implements Closeable {
   @NotNull
   private final Collection<O> staticObservers;
 
+  /**
+   * the task.
+   */
+  private final AtomicReference<BoardScheduler.Task> task = new AtomicReference<>();
+
   /**
    * the tick.
    */
@@ -169,6 +232,11 @@ public final class Board<O> implements Closeable {
   @NotNull
   private final BoardType type;
 
+  /**
+   * the virtual threads.
+   */
+  private final boolean virtualThreads;
+
   /**
    * obtains the board by id.
    *
@@ -213,11 +281,30 @@ public final class Board<O> implements Closeable {
 
   @Override
   public void close() {
-    this.asyncScheduler.shutdown();
+    this.cancel();
+    if (this.asyncScheduler != null) {
+      this.asyncScheduler.shutdown();
+    }
     this.scoreboardSender.close();
     this.lines.forEach(Line::close);
   }
 
+  /**
+   * invalidates the cached filter result of the observer, so the filters run for it again on the next tick.
+   *
+   * @param observer the observer to invalidate.
+   */
+  public void invalidate(@NotNull final O observer) {
+    this.current().getTracker().invalidate(observer);
+  }
+
+  /**
+   * invalidates all the cached filter results, so the filters run for every observer on the next tick.
+   */
+  public void invalidateAll() {
+    this.current().getTracker().invalidateAll();
+  }
+
   /**
    * resets the {@link #mutableBoard}.
    */
@@ -241,15 +328,58 @@ public final class Board<O> implements Closeable {
     if (reset) {
       this.reset();
     }
-    this.mutableBoard.get().send();
+    this.current().send();
   }
 
   /**
    * starts the scoreboard sequence.
+   * <p>
+   * the board runs on the {@link #asyncScheduler} if it's set, otherwise on the {@link #scheduler}.
    */
   public void start() {
     this.reset();
-    this.asyncScheduler.scheduleAtFixedRate(this::send, this.startDelay, this.tick, TimeUnit.MILLISECONDS);
+    if (this.asyncScheduler != null) {
+      this.asyncScheduler.scheduleAtFixedRate(this::send, this.startDelay, this.tick, TimeUnit.MILLISECONDS);
+    } else {
+      final var executor = this.virtualThreads
+        ? BoardExecutors.virtual().orElse(null)
+        : null;
+      this.replaceTask(this.scheduler.schedule(this::send, this.startDelay, this.tick, this.aligned, executor));
+    }
+  }
+
+  /**
+   * stops the scoreboard sequence which is started on the {@link #scheduler}.
+   */
+  public void cancel() {
+    this.replaceTask(null);
+  }
+
+  /**
+   * replaces the {@link #task} and cancels the old one.
+   *
+   * @param task the task to replace.
+   */
+  private void replaceTask(@Nullable final BoardScheduler.Task task) {
+    final var old = this.task.getAndSet(task);
+    if (old != null) {
+      old.cancel();
+    }
+  }
+
+  /**
+   * obtains the current {@link #mutableBoard} and creates it if it's absent.
+   *
+   * @return current mutable board.
+   */
+  @NotNull
+  private MutableBoard<O> current() {
+    final var current = this.mutableBoard.get();
+    if (current != null) {
+      return current;
+    }
+    this.mutableBoard.compareAndSet(null, new MutableBoard<>(this));
+    return this.mutableBoard.get();
   }
 
   /**
@@ -267,11 +397,16 @@ public final class Board<O> implements Closeable {
     @NotNull
     private final Class<O> observerClass;
 
+    /**
+     * the aligned.
+     */
+    private boolean aligned;
+
     /**
      * the async scheduler.
      */
-    @NotNull
-    private ScheduledExecutorService asyncScheduler = Executors.newScheduledThreadPool(2);
+    @Nullable
+    private ScheduledExecutorService asyncScheduler;
 
     /**
      * the dynamic observer list.
@@ -291,6 +426,17 @@ public final class Board<O> implements Closeable {
     @NotNull
     private Collection<Predicate<O>> filters = new HashSet<>();
 
+    /**
+     * the filter refresh interval.
+     */
+    private long filterRefreshInterval = 20L;
+
+    /**
+     * the group key.
+     */
+    @Nullable
+    private Function<O, ?> groupKey;
+
     /**
      * the id.
      */
@@ -303,6 +449,12 @@ public final class Board<O> implements Closeable {
     @NotNull
     private List<Line<O>> lines = new ArrayList<>();
 
+    /**
+     * the metrics.
+     */
+    @NotNull
+    private ScoreboardMetrics metrics = new ScoreboardMetrics.Empty();
+
     /**
      * the remove if.
      */
@@ -321,12 +473,40 @@ public final class Board<O> implements Closeable {
     @NotNull
     private Collection<Consumer<O>> runBefore = new HashSet<>();
 
+    /**
+     * the scheduler.
+     */
+    @NotNull
+    private BoardScheduler scheduler = BoardScheduler.shared();
+
     /**
      * the scoreboard sender.
      */
     @NotNull
     private ScoreboardSender<O> scoreboardSender = new ScoreboardSender.Empty<>();
 
+    /**
+     * the shard executor.
+     */
+    @NotNull
+    private Executor shardExecutor = ForkJoinPool.commonPool();
+
+    /**
+     * the shard key.
+     */
+    @NotNull
+    private Function<O, ?> shardKey = Function.identity();
+
+    /**
+     * the shard threshold.
+     */
+    private int shardThreshold = 256;
+
+    /**
+     * the shards.
+     */
+    private int shards = 1;
+
     /**
      * the start delay.
      */
@@ -355,6 +535,11 @@ public final class Board<O> implements Closeable {
     @NotNull
     private BoardType type = BoardType.MODERN;
 
+    /**
+     * the virtual threads.
+     */
+    private boolean virtualThreads;
+
     /**
      * adds the given dynamic observer list to the {@link #dynamicObserverList}.
      *
@@ -546,24 +731,46 @@ public final class Board<O> implements Closeable {
         throw new IllegalArgumentException(String.format("Id called %s is already exist in the boards map.",
           this.id));
       }
-      final var board = new Board<>(this.asyncScheduler, this.dynamicObserverList, this.dynamicObservers, this.filters,
-        this.id, this.lines, this.observerClass, this.removeIf, this.runAfter, this.runBefore, this.scoreboardSender,
-        this.startDelay, this.staticObservers, this.tick, this.titleLine, this.type);
+      final var board = new Board<>(this.aligned, this.asyncScheduler, this.dynamicObserverList,
+        this.dynamicObservers, this.filters, this.filterRefreshInterval, this.groupKey, this.id, this.lines,
+        this.metrics, this.observerClass, this.removeIf, new BoardRenderer<>(this.groupKey, this.metrics),
+        this.runAfter, this.runBefore, this.scheduler, this.scoreboardSender, this.shardExecutor, this.shardKey,
+        this.shardThreshold, this.shards, this.startDelay, this.staticObservers, this.tick, this.titleLine, this.type,
+        this.virtualThreads);
       if (this.id != null) {
         Board.BOARDS.put(this.id, board);
       }
       return board;
     }
 
+    /**
+     * sets the aligned.
+     * <p>
+     * aligned boards start on the first scheduler tick which is a multiple of their tick, so the aligned boards which
+     * have the same tick always run together as one batch.
+     *
+     * @param aligned the aligned to set.
+     *
+     * @return {@code this} for builder chain.
+     */
+    @NotNull
+    public Builder<O> setAligned(final boolean aligned) {
+      this.aligned = aligned;
+      return this;
+    }
+
     /**
      * sets the async scheduler.
+     * <p>
+     * the board runs on its own fixed-rate task on the async scheduler instead of the {@link #scheduler} and the
+     * async scheduler is shut down when the board closes.
      *
      * @param asyncScheduler the async scheduler to set.
      *
      * @return {@code this} for builder chain.
      */
     @NotNull
-    public Builder<O> setAsyncScheduler(@NotNull final ScheduledExecutorService asyncScheduler) {
+    public Builder<O> setAsyncScheduler(@Nullable final ScheduledExecutorService asyncScheduler) {
       this.asyncScheduler = asyncScheduler;
       return this;
     }
@@ -608,6 +815,48 @@ public final class Board<O> implements Closeable {
       return this;
     }
 
+    /**
+     * sets the filter refresh interval.
+     * <p>
+     * the filters run for the new and the invalidated observers on every tick, and for every observer once in the
+     * given amount of ticks. 0 disables the periodic refresh.
+     *
+     * @param filterRefreshInterval the filter refresh interval to set.
+     *
+     * @return {@code this} for build chain.
+     *
+     * @throws IllegalArgumentException if the filter refresh interval is lower than 0.
+     * @see Board#invalidate(Object)
+     */
+    @NotNull
+    public Builder<O> setFilterRefreshInterval(final long filterRefreshInterval) {
+      if (filterRefreshInterval < 0L) {
+        throw new IllegalArgumentException("Filter refresh interval shouldn't less than 0.");
+      }
+      this.filterRefreshInterval = filterRefreshInterval;
+      return this;
+    }
+
+    /**
+     * sets the group key.
+     * <p>
+     * the {@link io.github.portlek.scoreboard.line.LineScope#GROUP} lines are evaluated once per distinct group key,
+     * such as the observer's world, team or rank, per board tick and the result is shared with every observer in the
+     * group. the group lines are evaluated for each observer if the group key is not set or it's {@code null} for the
+     * observer.
+     *
+     * @param groupKey the group key to set.
+     *
+     * @return {@code this} for build chain.
+     *
+     * @see Line#grouped(Function)
+     */
+    @NotNull
+    public Builder<O> setGroupKey(@Nullable final Function<O, ?> groupKey) {
+      this.groupKey = groupKey;
+      return this;
+    }
+
     /**
      * sets the id.
      *
@@ -634,6 +883,25 @@ public final class Board<O> implements Closeable {
       return this;
     }
 
+    /**
+     * sets the metrics.
+     * <p>
+     * the board records its ticks, observers, line evaluations and cache hits, and the scoreboard sender records its
+     * changed lines and platform operations to the metrics. the default metrics is disabled, so the board doesn't
+     * measure anything.
+     *
+     * @param metrics the metrics to set.
+     *
+     * @return {@code this} for build chain.
+     *
+     * @see InMemoryScoreboardMetrics
+     */
+    @NotNull
+    public Builder<O> setMetrics(@NotNull final ScoreboardMetrics metrics) {
+      this.metrics = metrics;
+      return this;
+    }
+
     /**
      * sets the remove if.
      *
@@ -673,6 +941,19 @@ public final class Board<O> implements Closeable {
       return this;
     }
 
+    /**
+     * sets the scheduler.
+     *
+     * @param scheduler the scheduler to set.
+     *
+     * @return {@code this} for builder chain.
+     */
+    @NotNull
+    public Builder<O> setScheduler(@NotNull final BoardScheduler scheduler) {
+      this.scheduler = scheduler;
+      return this;
+    }
+
     /**
      * sets the scoreboard sender.
      *
@@ -686,6 +967,73 @@ public final class Board<O> implements Closeable {
       return this;
     }
 
+    /**
+     * sets the shard executor which renders and sends the shards.
+     *
+     * @param shardExecutor the shard executor to set.
+     *
+     * @return {@code this} for builder chain.
+     */
+    @NotNull
+    public Builder<O> setShardExecutor(@NotNull final Executor shardExecutor) {
+      this.shardExecutor = shardExecutor;
+      return this;
+    }
+
+    /**
+     * sets the shard key whose hash code decides the shard of the observers.
+     *
+     * @param shardKey the shard key to set.
+     *
+     * @return {@code this} for builder chain.
+     */
+    @NotNull
+    public Builder<O> setShardKey(@NotNull final Function<O, ?> shardKey) {
+      this.shardKey = shardKey;
+      return this;
+    }
+
+    /**
+     * sets the shard threshold which is the minimum observer count to send the board in shards.
+     *
+     * @param shardThreshold the shard threshold to set.
+     *
+     * @return {@code this} for builder chain.
+     *
+     * @throws IllegalArgumentException if the shard threshold is lower than 0.
+     */
+    @NotNull
+    public Builder<O> setShardThreshold(final int shardThreshold) {
+      if (shardThreshold < 0) {
+        throw new IllegalArgumentException("Shard threshold shouldn't less than 0.");
+      }
+      this.shardThreshold = shardThreshold;
+      return this;
+    }
+
+    /**
+     * sets the shards.
+     * <p>
+     * the observers are partitioned into the given amount of shards by their {@link #shardKey} when there are at
+     * least {@link #shardThreshold} observers, and each shard is sent to the {@link #scoreboardSender} on the
+     * {@link #shardExecutor} independently, so the scoreboard sender should be thread-safe. 1 sends the board
+     * sequentially.
+     *
+     * @param shards the shards to set.
+     *
+     * @return {@code this} for builder chain.
+     *
+     * @throws IllegalArgumentException if the shards is lower than 1.
+     */
+    @NotNull
+    public Builder<O> setShards(final int shards) {
+      if (shards < 1) {
+        throw new IllegalArgumentException("Shards shouldn't less than 1.");
+      }
+      this.shards = shards;
+      return this;
+    }
+
     /**
      * sets the start delay.
      *
@@ -760,6 +1108,25 @@ public final class Board<O> implements Closeable {
       this.type = type;
       return this;
     }
+
+    /**
+     * sets the virtual threads.
+     * <p>
+     * if the running Java version supports virtual threads, the board ticks on a virtual thread and sends the board
+     * to each observer on its own virtual thread, so lines which block don't hold the other observers. otherwise the
+     * board runs as usual.
+     *
+     * @param virtualThreads the virtual threads to set.
+     *
+     * @return {@code this} for builder chain.
+     *
+     * @see BoardExecutors#isVirtualThreadsSupported()
+     */
+    @NotNull
+    public Builder<O> setVirtualThreads(final boolean virtualThreads) {
+      this.virtualThreads = virtualThreads;
+      return this;
+    }
   }
 
   /**
@@ -775,12 +1142,24 @@ public final class Board<O> implements Closeable {
     @NotNull
     private final Board<O> board;
 
+    /**
+     * the partitions of the observers which are reused between the ticks.
+     */
+    private final List<List<O>> partitions = new ArrayList<>();
+
     /**
      * the static observers.
      */
     @NotNull
     private final Collection<O> staticObservers;
 
+    /**
+     * the tracker.
+     */
+    @NotNull
+    @Getter
+    private final ObserverTracker<O> tracker;
+
     /**
      * ctor.
      *
@@ -789,49 +1168,111 @@ public final class Board<O> implements Closeable {
     private MutableBoard(@NotNull final Board<O> board) {
       this.board = board;
       this.staticObservers = new HashSet<>(board.getStaticObservers());
+      this.tracker = new ObserverTracker<>(board);
     }
 
     /**
      * sends the {@link #board} to the all observers.
      */
+    @Synchronized("tracker")
     public void send() {
+      final var metrics = this.board.getMetrics();
+      if (!metrics.isEnabled()) {
+        this.tick();
+        return;
+      }
+      final var start = System.nanoTime();
+      final var observers = this.tick();
+      metrics.recordObservers(observers);
+      metrics.recordTick(System.nanoTime() - start);
+    }
+
+    /**
+     * runs a tick of the {@link #board}.
+     *
+     * @return observer count of the tick.
+     */
+    private int tick() {
+      this.board.getRenderer().tick();
       this.staticObserversRemoveIf();
-      final var observers = this.getObservers();
+      this.updateObservers();
+      final var left = this.tracker.getLeft();
+      if (!left.isEmpty()) {
+        this.board.getScoreboardSender().leave(this.board, left);
+        for (final var observer : left) {
+          this.board.getTitleLine().leave(observer);
+          this.board.getLines().forEach(line -> line.leave(observer));
+        }
+      }
+      final var observers = this.tracker.getObservers();
       if (observers.isEmpty()) {
-        return;
+        return 0;
       }
+      if (this.board.isVirtualThreads() && observers.size() > 1 && BoardExecutors.isVirtualThreadsSupported()) {
+        this.sendEach(observers);
+      } else if (this.board.getShards() <= 1 || observers.size() < this.board.getShardThreshold()) {
+        this.send(observers);
+      } else {
+        this.sendShards(observers);
+      }
+      return observers.size();
+    }
+
+    /**
+     * sends the {@link #board} to the observers.
+     *
+     * @param observers the observers to send.
+     */
+    private void send(@NotNull final Collection<O> observers) {
       this.board.getRunBefore().forEach(observers::forEach);
       this.board.getScoreboardSender().send(this.board, observers, this.board.getLines());
       this.board.getRunAfter().forEach(observers::forEach);
     }
 
     /**
-     * obtains the observers.
+     * sends the {@link #board} to each observer on its own virtual thread.
      *
-     * @return observers.
+     * @param observers the observers to send.
      */
-    @NotNull
-    @Synchronized("staticObservers")
-    private Collection<O> getObservers() {
-      final var observers = this.staticObservers.stream()
-        .filter(observer ->
-          this.board.getFilters().stream()
-            .allMatch(predicate -> predicate.test(observer)))
-        .collect(Collectors.toSet());
-      this.board.getDynamicObservers().stream()
-        .map(Supplier::get)
-        .filter(observer ->
-          this.board.getFilters().stream()
-            .allMatch(predicate -> predicate.test(observer)))
-        .forEach(observers::add);
-      this.board.getDynamicObserverList().stream()
-        .map(Supplier::get)
-        .flatMap(Collection::stream)
-        .filter(observer ->
-          this.board.getFilters().stream()
-            .allMatch(predicate -> predicate.test(observer)))
-        .forEach(observers::add);
-      return observers;
+    private void sendEach(@NotNull final Collection<O> observers) {
+      final var executor = BoardExecutors.virtual().orElseThrow();
+      final var futures = new CompletableFuture<?>[observers.size()];
+      var index = 0;
+      for (final var observer : observers) {
+        final var single = List.of(observer);
+        futures[index++] = CompletableFuture.runAsync(() -> this.send(single), executor);
+      }
+      CompletableFuture.allOf(futures).join();
+    }
+
+    /**
+     * partitions the observers by the stable hash of their {@link Board#getShardKey()} and sends the {@link #board}
+     * to each partition on the {@link Board#getShardExecutor()}.
+     *
+     * @param observers the observers to send.
+     */
+    private void sendShards(@NotNull final Collection<O> observers) {
+      final var shards = this.board.getShards();
+      if (this.partitions.size() != shards) {
+        this.partitions.clear();
+        for (var index = 0; index < shards; index++) {
+          this.partitions.add(new ArrayList<>());
+        }
+      }
+      this.partitions.forEach(List::clear);
+      final var shardKey = this.board.getShardKey();
+      for (final var observer : observers) {
+        final var hash = Objects.hashCode(shardKey.apply(observer));
+        this.partitions.get(Math.floorMod(hash ^ hash >>> 16, shards)).add(observer);
+      }
+      final var futures = new CompletableFuture<?>[shards];
+      for (var index = 0; index < shards; index++) {
+        final var partition = Collections.unmodifiableList(this.partitions.get(index));
+        futures[index] = partition.isEmpty()
+          ? CompletableFuture.completedFuture(null)
+          : CompletableFuture.runAsync(() -> this.send(partition), this.board.getShardExecutor());
+      }
+      CompletableFuture.allOf(futures).join();
     }
 
     /**
@@ -843,5 +1284,13 @@ public final class Board<O> implements Closeable {
         this.board.getRemoveIf().stream()
           .anyMatch(predicate -> predicate.test(observer)));
     }
+
+    /**
+     * updates the observers of the {@link #tracker}.
+     */
+    @Synchronized("staticObservers")
+    private void updateObservers() {
+      this.tracker.update(this.staticObservers);
+    }
   }
 }
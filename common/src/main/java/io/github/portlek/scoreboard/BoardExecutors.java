@@ -0,0 +1,98 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.scoreboard;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a class that contains executors for the boards.
+ * <p>
+ * the virtual thread executor is looked up reflectively, so the library still compiles and runs on the Java versions
+ * which have no virtual threads.
+ */
+public final class BoardExecutors {
+
+  /**
+   * ctor.
+   */
+  private BoardExecutors() {
+  }
+
+  /**
+   * checks if the running Java version supports virtual threads.
+   *
+   * @return {@code true} if virtual threads are supported.
+   */
+  public static boolean isVirtualThreadsSupported() {
+    return Virtual.INSTANCE != null;
+  }
+
+  /**
+   * obtains the shared executor which runs each task on a new virtual thread.
+   *
+   * @return virtual thread executor, empty if the running Java version doesn't support virtual threads.
+   */
+  @NotNull
+  public static Optional<Executor> virtual() {
+    return Optional.ofNullable(Virtual.INSTANCE);
+  }
+
+  /**
+   * a class that holds the virtual thread executor to create it lazily.
+   */
+  private static final class Virtual {
+
+    /**
+     * the instance.
+     */
+    @Nullable
+    private static final Executor INSTANCE = Virtual.create();
+
+    /**
+     * ctor.
+     */
+    private Virtual() {
+    }
+
+    /**
+     * creates the virtual thread executor.
+     *
+     * @return a newly created virtual thread executor, {@code null} if virtual threads are not supported.
+     */
+    @Nullable
+    private static Executor create() {
+      try {
+        return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+      } catch (final ReflectiveOperationException | RuntimeException | LinkageError e) {
+        return null;
+      }
+    }
+  }
+}
@@ -0,0 +1,227 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.scoreboard;
+
+import io.github.portlek.scoreboard.line.Line;
+import io.github.portlek.scoreboard.line.LineColor;
+import io.github.portlek.scoreboard.line.LineScope;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a class that represents the render pipeline of the boards.
+ * <p>
+ * renders the lines for the observers with respect to their {@link LineScope}, so the lines which don't depend on
+ * the observer are evaluated and formatted once per board tick and the lines which depend only on the group key of
+ * the observer are evaluated and formatted once per group key per board tick. the lines are applied with the board
+ * tick, so the animations are derived from the tick instead of their own mutable state.
+ *
+ * @param <O> type of the observers.
+ */
+public final class BoardRenderer<O> {
+
+  /**
+   * the group key, {@code null} if the group lines are evaluated for each observer.
+   */
+  @Nullable
+  private final Function<O, ?> groupKey;
+
+  /**
+   * the metrics.
+   */
+  @NotNull
+  private final ScoreboardMetrics metrics;
+
+  /**
+   * the rendered lines of the current tick, keyed by the line for the global lines and by {@link Group} for the group
+   * lines.
+   */
+  private final Map<Object, Rendered> rendered = new ConcurrentHashMap<>();
+
+  /**
+   * the tick.
+   */
+  private final AtomicLong tick = new AtomicLong();
+
+  /**
+   * ctor.
+   */
+  public BoardRenderer() {
+    this(null);
+  }
+
+  /**
+   * ctor.
+   *
+   * @param groupKey the group key.
+   */
+  public BoardRenderer(@Nullable final Function<O, ?> groupKey) {
+    this(groupKey, new ScoreboardMetrics.Empty());
+  }
+
+  /**
+   * ctor.
+   *
+   * @param groupKey the group key.
+   * @param metrics the metrics.
+   */
+  public BoardRenderer(@Nullable final Function<O, ?> groupKey, @NotNull final ScoreboardMetrics metrics) {
+    this.groupKey = groupKey;
+    this.metrics = metrics;
+  }
+
+  /**
+   * obtains the current board tick.
+   *
+   * @return current board tick.
+   */
+  public long getTick() {
+    return this.tick.get();
+  }
+
+  /**
+   * renders the line for the observer.
+   *
+   * @param line the line to render.
+   * @param observer the observer to render.
+   *
+   * @return rendered line.
+   */
+  @NotNull
+  public String render(@NotNull final Line<O> line, @NotNull final O observer) {
+    return this.render(line, observer, null);
+  }
+
+  /**
+   * renders and formats the line for the observer.
+   * <p>
+   * the results of the global and the group lines are cached until the next board tick, so every caller of the same
+   * board should use the same color. the lines are evaluated outside of the cache, so a blocking line doesn't hold the
+   * other renders, and the concurrent renders of the same line in a tick may evaluate it more than once, but all of
+   * them return the first published result.
+   *
+   * @param line the line to render.
+   * @param observer the observer to render.
+   * @param color the color to format.
+   *
+   * @return rendered and formatted line.
+   */
+  @NotNull
+  public String render(@NotNull final Line<O> line, @NotNull final O observer, @Nullable final LineColor color) {
+    final var current = this.tick.get();
+    final var scope = line.getScope();
+    final Object key;
+    if (scope == LineScope.GLOBAL) {
+      key = line;
+    } else if (scope == LineScope.GROUP && this.groupKey != null) {
+      final var group = this.groupKey.apply(observer);
+      key = group == null ? null : new Group(group, line);
+    } else {
+      key = null;
+    }
+    if (key == null) {
+      this.metrics.recordLineEvaluated();
+      return BoardRenderer.format(line, line.apply(observer, current), color);
+    }
+    final var cached = this.rendered.get(key);
+    if (cached != null && cached.tick == current) {
+      this.metrics.recordCacheHit();
+      return cached.value;
+    }
+    this.metrics.recordLineEvaluated();
+    final var fresh = new Rendered(current, BoardRenderer.format(line, line.apply(observer, current), color));
+    return this.rendered.merge(key, fresh, (old, value) -> old.tick >= current ? old : value).value;
+  }
+
+  /**
+   * formats the text of the line with the color unless the line is translated already.
+   *
+   * @param line the line to format.
+   * @param text the text to format.
+   * @param color the color to format.
+   *
+   * @return formatted text.
+   */
+  @NotNull
+  private static String format(@NotNull final Line<?> line, @NotNull final String text,
+                               @Nullable final LineColor color) {
+    return color == null || line.isTranslated() ? text : color.format(text);
+  }
+
+  /**
+   * moves the renderer to the next board tick.
+   */
+  void tick() {
+    final var current = this.tick.incrementAndGet();
+    if (!this.rendered.isEmpty()) {
+      this.rendered.values().removeIf(rendered -> rendered.tick < current - 1L);
+    }
+  }
+
+  /**
+   * a class that represents cache keys of the group lines.
+   */
+  @EqualsAndHashCode
+  @RequiredArgsConstructor
+  private static final class Group {
+
+    /**
+     * the key.
+     */
+    @NotNull
+    private final Object key;
+
+    /**
+     * the line.
+     */
+    @NotNull
+    private final Line<?> line;
+  }
+
+  /**
+   * a class that represents rendered lines.
+   */
+  @RequiredArgsConstructor
+  private static final class Rendered {
+
+    /**
+     * the tick.
+     */
+    private final long tick;
+
+    /**
+     * the value.
+     */
+    @NotNull
+    private final String value;
+  }
+}
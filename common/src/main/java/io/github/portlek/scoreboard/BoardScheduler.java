@@ -0,0 +1,488 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.scoreboard;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a class that represents hashed timing wheel schedulers which drive the ticks of the boards.
+ * <p>
+ * a single ticker thread moves over the wheel and hands the due tasks to a small bounded worker pool. the ticker
+ * thread starts with the first scheduled task and parks while there is nothing to run, the worker threads are created
+ * on demand and die when idle.
+ */
+public final class BoardScheduler implements Closeable {
+
+  /**
+   * the default resolution in milliseconds, which is a server tick.
+   */
+  private static final long DEFAULT_RESOLUTION = 50L;
+
+  /**
+   * the default wheel size.
+   */
+  private static final int DEFAULT_WHEEL_SIZE = 512;
+
+  /**
+   * the default worker count.
+   */
+  private static final int DEFAULT_WORKERS = Math.max(1, Math.min(4,
+    Runtime.getRuntime().availableProcessors() / 2));
+
+  /**
+   * the active task count.
+   */
+  private final AtomicInteger active = new AtomicInteger();
+
+  /**
+   * the batch which collects the aligned due tasks of a bucket.
+   */
+  private final List<Task> batch = new ArrayList<>();
+
+  /**
+   * the closed.
+   */
+  private final AtomicBoolean closed = new AtomicBoolean();
+
+  /**
+   * the mask.
+   */
+  private final int mask;
+
+  /**
+   * the pending tasks.
+   */
+  private final Queue<Task> pending = new ConcurrentLinkedQueue<>();
+
+  /**
+   * the resolution in nanoseconds.
+   */
+  @Getter
+  private final long resolution;
+
+  /**
+   * the start time.
+   */
+  private final long startTime = System.nanoTime();
+
+  /**
+   * the started.
+   */
+  private final AtomicBoolean started = new AtomicBoolean();
+
+  /**
+   * the ticker.
+   */
+  @NotNull
+  private final Thread ticker;
+
+  /**
+   * the wheel.
+   */
+  @NotNull
+  private final ArrayDeque<Task>[] wheel;
+
+  /**
+   * the workers.
+   */
+  @NotNull
+  private final ThreadPoolExecutor workers;
+
+  /**
+   * ctor.
+   *
+   * @param resolution the resolution in milliseconds.
+   * @param wheelSize the wheel size, rounded up to a power of two.
+   * @param workers the maximum worker thread count.
+   *
+   * @throws IllegalArgumentException if any of the arguments is lower than 1.
+   */
+  public BoardScheduler(final long resolution, final int wheelSize, final int workers) {
+    if (resolution < 1L || wheelSize < 1 || workers < 1) {
+      throw new IllegalArgumentException("Resolution, wheel size and workers shouldn't less than 1.");
+    }
+    final var size = Integer.highestOneBit((wheelSize - 1 << 1) | 1);
+    this.resolution = TimeUnit.MILLISECONDS.toNanos(resolution);
+    this.mask = size - 1;
+    //noinspection unchecked
+    this.wheel = new ArrayDeque[size];
+    for (var index = 0; index < size; index++) {
+      this.wheel[index] = new ArrayDeque<>();
+    }
+    this.workers = new ThreadPoolExecutor(workers, workers, 30L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+      BoardScheduler.threadFactory("scoreboard-worker-"));
+    this.workers.allowCoreThreadTimeOut(true);
+    this.ticker = BoardScheduler.threadFactory("scoreboard-ticker-").newThread(this::run);
+  }
+
+  /**
+   * obtains the library-wide shared scheduler which is created on the first call.
+   *
+   * @return shared scheduler.
+   */
+  @NotNull
+  public static BoardScheduler shared() {
+    return Shared.INSTANCE;
+  }
+
+  /**
+   * creates a daemon thread factory.
+   *
+   * @param prefix the prefix to create.
+   *
+   * @return a newly created daemon thread factory.
+   */
+  @NotNull
+  private static ThreadFactory threadFactory(@NotNull final String prefix) {
+    final var count = new AtomicInteger();
+    return runnable -> {
+      final var thread = new Thread(runnable, prefix + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  @Override
+  public void close() {
+    if (this.closed.compareAndSet(false, true)) {
+      LockSupport.unpark(this.ticker);
+      this.workers.shutdown();
+    }
+  }
+
+  /**
+   * schedules the task to run periodically.
+   * <p>
+   * aligned tasks start on the first wheel tick which is a multiple of their period, so every aligned task which
+   * has the same period runs on the same tick and is handed to the workers as one batch.
+   *
+   * @param runnable the runnable to schedule.
+   * @param delay the delay in milliseconds.
+   * @param period the period in milliseconds, rounded up to the resolution.
+   * @param aligned the aligned to schedule.
+   *
+   * @return scheduled task.
+   *
+   * @throws IllegalStateException if the scheduler is closed.
+   */
+  @NotNull
+  public Task schedule(@NotNull final Runnable runnable, final long delay, final long period, final boolean aligned) {
+    return this.schedule(runnable, delay, period, aligned, null);
+  }
+
+  /**
+   * schedules the task to run periodically on the executor.
+   * <p>
+   * tasks which have their own executor are never batched.
+   *
+   * @param runnable the runnable to schedule.
+   * @param delay the delay in milliseconds.
+   * @param period the period in milliseconds, rounded up to the resolution.
+   * @param aligned the aligned to schedule.
+   * @param executor the executor to run the task, {@code null} to run on the workers.
+   *
+   * @return scheduled task.
+   *
+   * @throws IllegalStateException if the scheduler is closed.
+   * @see #schedule(Runnable, long, long, boolean)
+   */
+  @NotNull
+  public Task schedule(@NotNull final Runnable runnable, final long delay, final long period, final boolean aligned,
+                       @Nullable final Executor executor) {
+    if (this.closed.get()) {
+      throw new IllegalStateException("Scheduler is closed.");
+    }
+    final var periodTicks = Math.max(1L, this.toTicks(period));
+    var deadline = this.currentTick() + this.toTicks(delay);
+    if (aligned) {
+      deadline = -Math.floorDiv(-deadline, periodTicks) * periodTicks;
+    }
+    final var task = new Task(aligned, executor, periodTicks, runnable, deadline);
+    this.active.incrementAndGet();
+    this.pending.add(task);
+    if (this.started.compareAndSet(false, true)) {
+      this.ticker.start();
+    } else {
+      LockSupport.unpark(this.ticker);
+    }
+    return task;
+  }
+
+  /**
+   * obtains the current tick.
+   *
+   * @return current tick.
+   */
+  private long currentTick() {
+    return (System.nanoTime() - this.startTime) / this.resolution;
+  }
+
+  /**
+   * hands the task to the executor.
+   *
+   * @param executor the executor to dispatch.
+   * @param task the task to dispatch.
+   */
+  private void dispatch(@NotNull final Executor executor, @NotNull final Runnable task) {
+    try {
+      executor.execute(task);
+    } catch (final RejectedExecutionException ignored) {
+    }
+  }
+
+  /**
+   * runs the due tasks of the tick's bucket.
+   *
+   * @param tick the tick to process.
+   */
+  private void process(final long tick) {
+    final var bucket = this.wheel[(int) (tick & this.mask)];
+    for (var remaining = bucket.size(); remaining > 0; remaining--) {
+      final var task = bucket.poll();
+      if (task.cancelled) {
+        this.active.decrementAndGet();
+        continue;
+      }
+      if (task.deadline > tick) {
+        bucket.add(task);
+        continue;
+      }
+      if (task.executor != null) {
+        this.dispatch(task.executor, task);
+      } else if (task.aligned) {
+        this.batch.add(task);
+      } else {
+        this.dispatch(this.workers, task);
+      }
+      task.deadline += task.period;
+      this.wheel[(int) (task.deadline & this.mask)].add(task);
+    }
+    if (this.batch.isEmpty()) {
+      return;
+    }
+    final var tasks = this.batch.toArray(Task[]::new);
+    this.batch.clear();
+    this.dispatch(this.workers, () -> {
+      for (final var task : tasks) {
+        task.run();
+      }
+    });
+  }
+
+  /**
+   * runs the ticker loop.
+   */
+  private void run() {
+    var processed = this.currentTick();
+    while (!this.closed.get()) {
+      if (this.active.get() == 0) {
+        LockSupport.park(this);
+        processed = Math.max(processed, this.currentTick() - 1L);
+        continue;
+      }
+      final var now = this.currentTick();
+      if (now <= processed) {
+        LockSupport.parkNanos(this, this.startTime + (processed + 1L) * this.resolution - System.nanoTime());
+        continue;
+      }
+      this.transferPending(processed);
+      for (var tick = Math.max(processed + 1L, now - this.mask); tick <= now; tick++) {
+        this.process(tick);
+      }
+      processed = now;
+    }
+    this.pending.clear();
+    for (final var bucket : this.wheel) {
+      bucket.clear();
+    }
+  }
+
+  /**
+   * converts the milliseconds to wheel ticks by rounding up.
+   *
+   * @param millis the millis to convert.
+   *
+   * @return wheel ticks.
+   */
+  private long toTicks(final long millis) {
+    final var nanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, millis));
+    return -Math.floorDiv(-nanos, this.resolution);
+  }
+
+  /**
+   * moves the pending tasks into the wheel.
+   *
+   * @param processed the last processed tick.
+   */
+  private void transferPending(final long processed) {
+    Task task;
+    while ((task = this.pending.poll()) != null) {
+      if (task.cancelled) {
+        this.active.decrementAndGet();
+        continue;
+      }
+      if (task.deadline <= processed) {
+        if (task.aligned) {
+          task.deadline += (Math.floorDiv(processed - task.deadline, task.period) + 1L) * task.period;
+        } else {
+          task.deadline = processed + 1L;
+        }
+      }
+      this.wheel[(int) (task.deadline & this.mask)].add(task);
+    }
+  }
+
+  /**
+   * a class that represents scheduled tasks.
+   */
+  public static final class Task implements Runnable {
+
+    /**
+     * the aligned.
+     */
+    @Getter
+    private final boolean aligned;
+
+    /**
+     * the executor.
+     */
+    @Nullable
+    private final Executor executor;
+
+    /**
+     * the period in wheel ticks.
+     */
+    @Getter
+    private final long period;
+
+    /**
+     * the runnable.
+     */
+    @NotNull
+    private final Runnable runnable;
+
+    /**
+     * the running.
+     */
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * the deadline tick, only accessed by the ticker thread.
+     */
+    private long deadline;
+
+    /**
+     * the cancelled.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * ctor.
+     *
+     * @param aligned the aligned.
+     * @param executor the executor.
+     * @param period the period.
+     * @param runnable the runnable.
+     * @param deadline the deadline.
+     */
+    private Task(final boolean aligned, @Nullable final Executor executor, final long period,
+                 @NotNull final Runnable runnable, final long deadline) {
+      this.aligned = aligned;
+      this.executor = executor;
+      this.period = period;
+      this.runnable = runnable;
+      this.deadline = deadline;
+    }
+
+    /**
+     * cancels the task.
+     */
+    public void cancel() {
+      this.cancelled = true;
+    }
+
+    /**
+     * checks if the task is cancelled.
+     *
+     * @return {@code true} if the task is cancelled.
+     */
+    public boolean isCancelled() {
+      return this.cancelled;
+    }
+
+    /**
+     * runs the task unless it's cancelled or the previous run is still in progress.
+     */
+    @Override
+    public void run() {
+      if (this.cancelled || !this.running.compareAndSet(false, true)) {
+        return;
+      }
+      try {
+        this.runnable.run();
+      } catch (final Exception e) {
+        e.printStackTrace();
+      } finally {
+        this.running.set(false);
+      }
+    }
+  }
+
+  /**
+   * a class that holds the shared scheduler to create it lazily.
+   */
+  private static final class Shared {
+
+    /**
+     * the instance.
+     */
+    private static final BoardScheduler INSTANCE = new BoardScheduler(BoardScheduler.DEFAULT_RESOLUTION,
+      BoardScheduler.DEFAULT_WHEEL_SIZE, BoardScheduler.DEFAULT_WORKERS);
+
+    /**
+     * ctor.
+     */
+    private Shared() {
+    }
+  }
+}
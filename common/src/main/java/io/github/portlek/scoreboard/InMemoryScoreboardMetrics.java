@@ -0,0 +1,373 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.scoreboard;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * a class that represents in-memory {@link ScoreboardMetrics} implementation.
+ * <p>
+ * records the counters with {@link LongAdder}s and the tick durations and the observer counts with log-linear
+ * histograms, which keep the values within ~3% of their actual value, so recording doesn't allocate or lock and the
+ * metrics can be shared by the shards of a board. the recorded metrics are obtained with {@link #snapshot()}.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class InMemoryScoreboardMetrics implements ScoreboardMetrics {
+
+  /**
+   * the cache hits.
+   */
+  private final LongAdder cacheHits = new LongAdder();
+
+  /**
+   * the lines changed.
+   */
+  private final LongAdder linesChanged = new LongAdder();
+
+  /**
+   * the lines evaluated.
+   */
+  private final LongAdder linesEvaluated = new LongAdder();
+
+  /**
+   * the observers.
+   */
+  private final Histogram observers = new Histogram();
+
+  /**
+   * the operations.
+   */
+  private final LongAdder operations = new LongAdder();
+
+  /**
+   * the tick duration.
+   */
+  private final Histogram tickDuration = new Histogram();
+
+  /**
+   * creates a new instance of {@link InMemoryScoreboardMetrics}.
+   *
+   * @return a newly created instance of {@link InMemoryScoreboardMetrics}.
+   */
+  @NotNull
+  public static InMemoryScoreboardMetrics create() {
+    return new InMemoryScoreboardMetrics();
+  }
+
+  @Override
+  public void recordCacheHit() {
+    this.cacheHits.increment();
+  }
+
+  @Override
+  public void recordLineEvaluated() {
+    this.linesEvaluated.increment();
+  }
+
+  @Override
+  public void recordLinesChanged(final int lines) {
+    this.linesChanged.add(lines);
+  }
+
+  @Override
+  public void recordObservers(final int observers) {
+    this.observers.record(observers);
+  }
+
+  @Override
+  public void recordOperations(final int operations) {
+    this.operations.add(operations);
+  }
+
+  @Override
+  public void recordTick(final long duration) {
+    this.tickDuration.record(duration);
+  }
+
+  /**
+   * resets the recorded metrics.
+   * <p>
+   * the values which are recorded concurrently with the reset may be kept or lost.
+   */
+  public void reset() {
+    this.cacheHits.reset();
+    this.linesChanged.reset();
+    this.linesEvaluated.reset();
+    this.observers.reset();
+    this.operations.reset();
+    this.tickDuration.reset();
+  }
+
+  /**
+   * takes a snapshot of the recorded metrics.
+   *
+   * @return snapshot of the recorded metrics.
+   */
+  @NotNull
+  public Snapshot snapshot() {
+    return new Snapshot(this.cacheHits.sum(), this.linesChanged.sum(), this.linesEvaluated.sum(),
+      this.observers.snapshot(), this.operations.sum(), this.tickDuration.snapshot());
+  }
+
+  /**
+   * a class that represents log-linear histograms.
+   * <p>
+   * the values lower than {@link #SUB_BUCKETS} have their own bucket, and each power of two range above splits into
+   * {@link #SUB_BUCKETS} linear buckets.
+   */
+  private static final class Histogram {
+
+    /**
+     * the sub bucket bits.
+     */
+    private static final int SUB_BUCKET_BITS = 5;
+
+    /**
+     * the sub buckets.
+     */
+    private static final int SUB_BUCKETS = 1 << Histogram.SUB_BUCKET_BITS;
+
+    /**
+     * the buckets.
+     */
+    private final AtomicLongArray buckets =
+      new AtomicLongArray((Long.SIZE - Histogram.SUB_BUCKET_BITS + 1) * Histogram.SUB_BUCKETS);
+
+    /**
+     * the count.
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * the maximum.
+     */
+    private final LongAccumulator maximum = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * the sum.
+     */
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * obtains the bucket index of the value.
+     *
+     * @param value the value to obtain.
+     *
+     * @return bucket index.
+     */
+    private static int index(final long value) {
+      if (value < Histogram.SUB_BUCKETS) {
+        return (int) value;
+      }
+      final var shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - Histogram.SUB_BUCKET_BITS;
+      return (shift << Histogram.SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    /**
+     * obtains the highest value of the bucket.
+     *
+     * @param index the index to obtain.
+     *
+     * @return highest value of the bucket.
+     */
+    private static long highest(final int index) {
+      if (index < Histogram.SUB_BUCKETS << 1) {
+        return index;
+      }
+      final var shift = (index >>> Histogram.SUB_BUCKET_BITS) - 1;
+      final var bucket = (long) (index & Histogram.SUB_BUCKETS - 1 | Histogram.SUB_BUCKETS);
+      return (bucket + 1L << shift) - 1L;
+    }
+
+    /**
+     * records the value.
+     *
+     * @param value the value to record, the negative values are recorded as 0.
+     */
+    private void record(final long value) {
+      final var normalized = Math.max(0L, value);
+      this.buckets.incrementAndGet(Histogram.index(normalized));
+      this.count.increment();
+      this.maximum.accumulate(normalized);
+      this.sum.add(normalized);
+    }
+
+    /**
+     * resets the histogram.
+     */
+    private void reset() {
+      for (var index = 0; index < this.buckets.length(); index++) {
+        this.buckets.set(index, 0L);
+      }
+      this.count.reset();
+      this.maximum.reset();
+      this.sum.reset();
+    }
+
+    /**
+     * takes a snapshot of the histogram.
+     *
+     * @return snapshot of the histogram.
+     */
+    @NotNull
+    private HistogramSnapshot snapshot() {
+      final var counts = new long[this.buckets.length()];
+      var count = 0L;
+      for (var index = 0; index < counts.length; index++) {
+        counts[index] = this.buckets.get(index);
+        count += counts[index];
+      }
+      return new HistogramSnapshot(counts, count, this.maximum.get(), this.sum.sum());
+    }
+  }
+
+  /**
+   * a class that represents snapshots of the histograms.
+   */
+  @ToString(exclude = "counts")
+  @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+  public static final class HistogramSnapshot {
+
+    /**
+     * the counts.
+     */
+    private final long @NotNull [] counts;
+
+    /**
+     * the count.
+     */
+    @Getter
+    private final long count;
+
+    /**
+     * the maximum.
+     */
+    @Getter
+    private final long maximum;
+
+    /**
+     * the sum.
+     */
+    @Getter
+    private final long sum;
+
+    /**
+     * obtains the mean of the recorded values.
+     *
+     * @return mean of the recorded values, 0 if there are no recorded values.
+     */
+    public double getMean() {
+      return this.count == 0L ? 0.0d : (double) this.sum / this.count;
+    }
+
+    /**
+     * obtains the value at the percentile.
+     * <p>
+     * the value is the highest value of the bucket which contains the percentile, capped at the maximum.
+     *
+     * @param percentile the percentile to obtain, between 0 and 100.
+     *
+     * @return value at the percentile, 0 if there are no recorded values.
+     *
+     * @throws IllegalArgumentException if the percentile is not between 0 and 100.
+     */
+    public long getValueAtPercentile(final double percentile) {
+      if (percentile < 0.0d || percentile > 100.0d) {
+        throw new IllegalArgumentException("Percentile should be between 0 and 100.");
+      }
+      if (this.count == 0L) {
+        return 0L;
+      }
+      final var target = Math.max(1L, (long) Math.ceil(percentile / 100.0d * this.count));
+      var seen = 0L;
+      for (var index = 0; index < this.counts.length; index++) {
+        seen += this.counts[index];
+        if (seen >= target) {
+          return Math.min(Histogram.highest(index), this.maximum);
+        }
+      }
+      return this.maximum;
+    }
+  }
+
+  /**
+   * a class that represents snapshots of the {@link InMemoryScoreboardMetrics}.
+   */
+  @Getter
+  @ToString
+  @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+  public static final class Snapshot {
+
+    /**
+     * the cache hits.
+     */
+    private final long cacheHits;
+
+    /**
+     * the lines changed.
+     */
+    private final long linesChanged;
+
+    /**
+     * the lines evaluated.
+     */
+    private final long linesEvaluated;
+
+    /**
+     * the observers per tick.
+     */
+    @NotNull
+    private final HistogramSnapshot observers;
+
+    /**
+     * the platform operations.
+     */
+    private final long operations;
+
+    /**
+     * the tick duration in nanoseconds.
+     */
+    @NotNull
+    private final HistogramSnapshot tickDuration;
+
+    /**
+     * obtains the tick count.
+     *
+     * @return tick count.
+     */
+    public long getTicks() {
+      return this.tickDuration.getCount();
+    }
+  }
+}
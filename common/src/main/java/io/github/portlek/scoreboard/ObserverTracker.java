@@ -0,0 +1,236 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.scoreboard;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a class that represents observer trackers.
+ * <p>
+ * keeps the resolved observers between ticks and runs the filters only for the new observers, the invalidated
+ * observers and once every refresh interval.
+ *
+ * @param <O> type of the observers.
+ */
+final class ObserverTracker<O> {
+
+  /**
+   * the board.
+   */
+  @NotNull
+  private final Board<O> board;
+
+  /**
+   * the filter results.
+   */
+  private final Map<O, Boolean> filterResults = new HashMap<>();
+
+  /**
+   * the invalidate all.
+   */
+  private final AtomicBoolean invalidateAll = new AtomicBoolean();
+
+  /**
+   * the invalidated.
+   */
+  private final Set<O> invalidated = ConcurrentHashMap.newKeySet();
+
+  /**
+   * the joined.
+   */
+  private final List<O> joined = new ArrayList<>();
+
+  /**
+   * the left.
+   */
+  private final List<O> left = new ArrayList<>();
+
+  /**
+   * the observers.
+   */
+  private final Set<O> observers = new HashSet<>();
+
+  /**
+   * the seen.
+   */
+  private final Set<O> seen = new HashSet<>();
+
+  /**
+   * the view of {@link #observers}.
+   */
+  private final Set<O> view = Collections.unmodifiableSet(this.observers);
+
+  /**
+   * the accepted observer count of the current tick.
+   */
+  private int accepted;
+
+  /**
+   * the ticks since the last refresh.
+   */
+  private long ticks;
+
+  /**
+   * ctor.
+   *
+   * @param board the board.
+   */
+  ObserverTracker(@NotNull final Board<O> board) {
+    this.board = board;
+  }
+
+  /**
+   * obtains the observers which joined in the last {@link #update(Collection)}.
+   *
+   * @return joined observers.
+   */
+  @NotNull
+  List<O> getJoined() {
+    return Collections.unmodifiableList(this.joined);
+  }
+
+  /**
+   * obtains the observers which left in the last {@link #update(Collection)}.
+   *
+   * @return left observers.
+   */
+  @NotNull
+  List<O> getLeft() {
+    return Collections.unmodifiableList(this.left);
+  }
+
+  /**
+   * obtains the resolved observers.
+   *
+   * @return an unmodifiable live view of the resolved observers.
+   */
+  @NotNull
+  Set<O> getObservers() {
+    return this.view;
+  }
+
+  /**
+   * invalidates the cached filter result of the observer.
+   *
+   * @param observer the observer to invalidate.
+   */
+  void invalidate(@NotNull final O observer) {
+    this.invalidated.add(observer);
+  }
+
+  /**
+   * invalidates all the cached filter results.
+   */
+  void invalidateAll() {
+    this.invalidateAll.set(true);
+  }
+
+  /**
+   * resolves the observers and computes the join/leave deltas.
+   *
+   * @param staticObservers the static observers to update.
+   */
+  void update(@NotNull final Collection<O> staticObservers) {
+    this.joined.clear();
+    this.left.clear();
+    this.seen.clear();
+    this.accepted = 0;
+    final var refreshInterval = this.board.getFilterRefreshInterval();
+    if (this.invalidateAll.getAndSet(false) || refreshInterval > 0L && ++this.ticks >= refreshInterval) {
+      this.ticks = 0L;
+      this.filterResults.clear();
+    }
+    staticObservers.forEach(this::track);
+    for (final var supplier : this.board.getDynamicObservers()) {
+      this.track(supplier.get());
+    }
+    for (final var supplier : this.board.getDynamicObserverList()) {
+      supplier.get().forEach(this::track);
+    }
+    if (this.observers.size() > this.accepted) {
+      this.observers.removeIf(observer -> !this.seen.contains(observer) && this.left.add(observer));
+    }
+    if (this.filterResults.size() > this.seen.size()) {
+      this.filterResults.keySet().retainAll(this.seen);
+    }
+    if (!this.invalidated.isEmpty()) {
+      this.invalidated.removeIf(observer -> !this.seen.contains(observer));
+    }
+  }
+
+  /**
+   * runs the filters for the observer.
+   *
+   * @param observer the observer to test.
+   *
+   * @return {@code true} if the observer passes all the filters.
+   */
+  private boolean test(@NotNull final O observer) {
+    for (final Predicate<O> filter : this.board.getFilters()) {
+      if (!filter.test(observer)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * tracks the observer for the current tick.
+   *
+   * @param observer the observer to track.
+   */
+  private void track(@Nullable final O observer) {
+    if (observer == null || !this.seen.add(observer)) {
+      return;
+    }
+    var passed = this.filterResults.get(observer);
+    final var stale = this.invalidated.remove(observer);
+    if (passed == null || stale) {
+      passed = this.test(observer);
+      this.filterResults.put(observer, passed);
+    }
+    if (passed) {
+      this.accepted++;
+      if (this.observers.add(observer)) {
+        this.joined.add(observer);
+      }
+    } else if (this.observers.remove(observer)) {
+      this.left.add(observer);
+    }
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.scoreboard;
+
+/**
+ * an interface to determine the metrics of the boards.
+ * <p>
+ * each board records to its own metrics, which are set with {@link Board.Builder#setMetrics(ScoreboardMetrics)}.
+ * the boards use {@link Empty} by default, which is disabled, so the boards don't even measure the ticks.
+ *
+ * @see InMemoryScoreboardMetrics
+ */
+public interface ScoreboardMetrics {
+
+  /**
+   * checks if the metrics are enabled, the boards don't measure anything for the disabled metrics.
+   *
+   * @return {@code true} if the metrics are enabled.
+   */
+  default boolean isEnabled() {
+    return true;
+  }
+
+  /**
+   * records a cache hit of the render pipeline, which is a global or a group line that is rendered already in the
+   * current tick.
+   */
+  void recordCacheHit();
+
+  /**
+   * records a line evaluation of the render pipeline.
+   */
+  void recordLineEvaluated();
+
+  /**
+   * records the lines which are changed since the last send of an observer.
+   *
+   * @param lines the line count to record.
+   */
+  void recordLinesChanged(int lines);
+
+  /**
+   * records the observer count of a tick.
+   *
+   * @param observers the observers to record.
+   */
+  void recordObservers(int observers);
+
+  /**
+   * records the platform operations, such as the team and the score updates, which a sender emits.
+   *
+   * @param operations the operation count to record.
+   */
+  void recordOperations(int operations);
+
+  /**
+   * records the duration of a tick.
+   * <p>
+   * the duration covers the observer resolution and the {@link ScoreboardSender#send(Board, java.util.Collection,
+   * java.util.List)} calls of the tick. the senders which render on their own threads, such as the Bukkit
+   * scoreboards which render on their lanes and apply on the main thread, are timed only for their dispatch, so the
+   * duration doesn't contain their rendering.
+   *
+   * @param duration the duration in nanoseconds to record.
+   */
+  void recordTick(long duration);
+
+  /**
+   * a class that represents empty {@link ScoreboardMetrics} implementation.
+   */
+  final class Empty implements ScoreboardMetrics {
+
+    @Override
+    public boolean isEnabled() {
+      return false;
+    }
+
+    @Override
+    public void recordCacheHit() {
+    }
+
+    @Override
+    public void recordLineEvaluated() {
+    }
+
+    @Override
+    public void recordLinesChanged(final int lines) {
+    }
+
+    @Override
+    public void recordObservers(final int observers) {
+    }
+
+    @Override
+    public void recordOperations(final int operations) {
+    }
+
+    @Override
+    public void recordTick(final long duration) {
+    }
+  }
+}
@@ -41,6 +41,15 @@ public interface ScoreboardSender<O> extends Closeable {
   @Override
   void close();
 
+  /**
+   * runs when the observers stop observing the board.
+   *
+   * @param board the board to leave.
+   * @param observers the observers which left the board.
+   */
+  default void leave(@NotNull final Board<O> board, @NotNull final Collection<O> observers) {
+  }
+
   /**
    * sends the scoreboard lines to the observers.
    *
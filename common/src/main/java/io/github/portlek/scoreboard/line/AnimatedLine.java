@@ -31,7 +31,11 @@ import io.github.portlek.scoreboard.line.lines.ScrolledLine;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -69,6 +73,24 @@ public interface AnimatedLine<O> extends Line<O> {
     return AnimatedLine.framed(List.of(frames), update);
   }
 
+  /**
+   * creates a simple animated line with frames which are translated with the color once.
+   *
+   * @param color the color to create.
+   * @param frames the frames to create.
+   * @param <O> type of the observers.
+   *
+   * @return a newly created a line which has frame animation.
+   */
+  @NotNull
+  static <O> AnimatedLine<O> framed(@NotNull final LineColor color, @NotNull final String... frames) {
+    final var translated = new ArrayList<String>(frames.length);
+    for (final var frame : frames) {
+      translated.add(color.format(frame));
+    }
+    return new Framed<>(translated, true, false);
+  }
+
   /**
    * creates a simple animated line with frames.
    *
@@ -93,7 +115,7 @@ public interface AnimatedLine<O> extends Line<O> {
    */
   @NotNull
   static <O> AnimatedLine<O> framed(@NotNull final List<String> frames, final boolean update) {
-    return new Framed<>(frames, update);
+    return new Framed<>(frames, false, update);
   }
 
   /**
@@ -214,16 +236,25 @@ public interface AnimatedLine<O> extends Line<O> {
     return true;
   }
 
-  @Override
+  /**
+   * renders the frame of the tick.
+   * <p>
+   * the frame index is derived from the tick and the phase of the observer, so the line keeps no animation state and
+   * can be rendered for any number of observers concurrently.
+   *
+   * @param observer the observer to apply.
+   * @param tick the tick to apply.
+   *
+   * @return rendered frame.
+   */
   @NotNull
-  default String apply(@NotNull final O o) {
+  @Override
+  default String apply(@NotNull final O observer, final long tick) {
     if (!this.animate()) {
-      return Objects.requireNonNullElse(this.getCurrent(o), "");
+      return Objects.requireNonNullElse(this.getCurrent(observer), "");
     }
-    if (this.forward()) {
-      return this.getNext(o);
-    }
-    return this.getPrevious(o);
+    final var step = tick + this.getPhase(observer);
+    return this.getFrameAt(observer, this.forward() ? step : -1L - step);
   }
 
   /**
@@ -231,8 +262,7 @@ public interface AnimatedLine<O> extends Line<O> {
    *
    * @return {@code true} if the animation should show the next frame.
    *
-   * @see #getNext(Object)
-   * @see #getPrevious(Object)
+   * @see #getFrameAt(Object, long)
    */
   default boolean forward() {
     return true;
@@ -248,25 +278,79 @@ public interface AnimatedLine<O> extends Line<O> {
   @Nullable
   String getCurrent(@NotNull O observer);
 
+  /**
+   * obtains the frame at the step.
+   * <p>
+   * the step is not bounded, implementations should wrap it with {@link Math#floorMod(long, int)}.
+   *
+   * @param observer the observer to obtain.
+   * @param step the step to obtain.
+   *
+   * @return frame at the step.
+   */
+  @NotNull
+  String getFrameAt(@NotNull O observer, long step);
+
   /**
    * obtains the next text.
+   * <p>
+   * the default implementation doesn't support stepping, {@link FramedLine} steps the animation which the line
+   * renders without a tick.
    *
    * @param observer the observer to obtain.
    *
    * @return next text.
+   *
+   * @deprecated the frames are derived from the board tick, use {@link #getFrameAt(Object, long)} instead.
    */
   @NotNull
-  String getNext(@NotNull O observer);
+  @Deprecated
+  default String getNext(@NotNull final O observer) {
+    throw new UnsupportedOperationException("Animated lines are stepped by the board tick, use getFrameAt instead.");
+  }
 
   /**
    * obtains the previous text.
+   * <p>
+   * the default implementation doesn't support stepping, {@link FramedLine} steps the animation which the line
+   * renders without a tick.
    *
    * @param observer the observer to obtain.
    *
    * @return previous text.
+   *
+   * @deprecated the frames are derived from the board tick, use {@link #getFrameAt(Object, long)} instead.
+   */
+  @NotNull
+  @Deprecated
+  default String getPrevious(@NotNull final O observer) {
+    throw new UnsupportedOperationException("Animated lines are stepped by the board tick, use getFrameAt instead.");
+  }
+
+  /**
+   * obtains the phase offset of the observer.
+   *
+   * @param observer the observer to obtain.
+   *
+   * @return phase offset of the observer.
+   *
+   * @see #withPhase(ToLongFunction)
+   */
+  default long getPhase(@NotNull final O observer) {
+    return 0L;
+  }
+
+  /**
+   * creates a line that shifts the animation of each observer by the phase.
+   *
+   * @param phase the phase to create.
+   *
+   * @return a newly created line which has per-observer phase.
    */
   @NotNull
-  String getPrevious(@NotNull O observer);
+  default AnimatedLine<O> withPhase(@NotNull final ToLongFunction<@NotNull O> phase) {
+    return new Phased<>(this, phase);
+  }
 
   /**
    * a class that represents simple framed animation lines.
@@ -275,6 +359,12 @@ public interface AnimatedLine<O> extends Line<O> {
    */
   final class Framed<O> extends FramedLine<O> {
 
+    /**
+     * the translated.
+     */
+    @Getter
+    private final boolean translated;
+
     /**
      * the update.
      */
@@ -285,10 +375,12 @@ public interface AnimatedLine<O> extends Line<O> {
      * ctor.
      *
      * @param frames the frames.
+     * @param translated the translated.
      * @param update the update.
      */
-    private Framed(@NotNull final List<String> frames, final boolean update) {
+    private Framed(@NotNull final List<String> frames, final boolean translated, final boolean update) {
       super(new ArrayList<>(frames));
+      this.translated = translated;
       this.update = update;
     }
   }
@@ -325,6 +417,99 @@ public interface AnimatedLine<O> extends Line<O> {
     }
   }
 
+  /**
+   * a class that represents animated lines which have per-observer phase.
+   *
+   * @param <O> type of the observers.
+   */
+  @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+  final class Phased<O> implements AnimatedLine<O> {
+
+    /**
+     * the delegate.
+     */
+    @NotNull
+    private final AnimatedLine<O> delegate;
+
+    /**
+     * the phase.
+     */
+    @NotNull
+    private final ToLongFunction<@NotNull O> phase;
+
+    /**
+     * the step of the applies which have no tick.
+     */
+    private final AtomicLong step = new AtomicLong();
+
+    @Override
+    public boolean animate() {
+      return this.delegate.animate();
+    }
+
+    @NotNull
+    @Override
+    public String apply(@NotNull final O o) {
+      return this.apply(o, this.step.getAndIncrement());
+    }
+
+    @Override
+    public void close() {
+      this.delegate.close();
+    }
+
+    @Override
+    public boolean forward() {
+      return this.delegate.forward();
+    }
+
+    @Nullable
+    @Override
+    public String getCurrent(@NotNull final O observer) {
+      return this.delegate.getCurrent(observer);
+    }
+
+    @NotNull
+    @Override
+    public String getFrameAt(@NotNull final O observer, final long step) {
+      return this.delegate.getFrameAt(observer, step);
+    }
+
+    @NotNull
+    @Override
+    @Deprecated
+    public String getNext(@NotNull final O observer) {
+      return this.delegate.getNext(observer);
+    }
+
+    @Override
+    public long getPhase(@NotNull final O observer) {
+      return this.delegate.getPhase(observer) + this.phase.applyAsLong(observer);
+    }
+
+    @NotNull
+    @Override
+    @Deprecated
+    public String getPrevious(@NotNull final O observer) {
+      return this.delegate.getPrevious(observer);
+    }
+
+    @Override
+    public boolean isTranslated() {
+      return this.delegate.isTranslated();
+    }
+
+    @Override
+    public boolean isUpdate() {
+      return this.delegate.isUpdate();
+    }
+
+    @Override
+    public void leave(@NotNull final O observer) {
+      this.delegate.leave(observer);
+    }
+  }
+
   /**
    * a class that represents simple scrolled animation lines.
    *
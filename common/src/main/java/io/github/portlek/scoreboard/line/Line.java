@@ -26,14 +26,23 @@
 package io.github.portlek.scoreboard.line;
 
 import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.Delegate;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * an interface to determine a line of scoreboards.
@@ -42,6 +51,80 @@ import org.jetbrains.annotations.NotNull;
  */
 public interface Line<O> extends Function<@NotNull O, @NotNull String>, Closeable {
 
+  /**
+   * creates an async line which refreshes whenever there is no refresh in flight.
+   *
+   * @param line the line to create.
+   * @param <O> type of the observers.
+   *
+   * @return a newly created async line.
+   *
+   * @see #async(Function, String, Duration)
+   */
+  @NotNull
+  static <O> Async<O> async(@NotNull final Function<@NotNull O, @NotNull CompletionStage<String>> line) {
+    return Line.async(line, "", Duration.ZERO);
+  }
+
+  /**
+   * creates an async line.
+   * <p>
+   * the line returns the last known value of the observer immediately, the placeholder until the first refresh
+   * completes, and starts at most one refresh per observer once the refresh interval passes, so slow data sources
+   * never block the board.
+   *
+   * @param line the line to create.
+   * @param placeholder the placeholder to create.
+   * @param refreshInterval the refresh interval to create.
+   * @param <O> type of the observers.
+   *
+   * @return a newly created async line.
+   *
+   * @throws IllegalArgumentException if the refresh interval is negative.
+   */
+  @NotNull
+  static <O> Async<O> async(@NotNull final Function<@NotNull O, @NotNull CompletionStage<String>> line,
+                            @NotNull final String placeholder, @NotNull final Duration refreshInterval) {
+    if (refreshInterval.isNegative()) {
+      throw new IllegalArgumentException("Refresh interval shouldn't negative.");
+    }
+    return new Async<>(line, placeholder, refreshInterval.toNanos());
+  }
+
+  /**
+   * creates a cached line which evaluates the line for each observer at most once per ttl.
+   *
+   * @param line the line to create.
+   * @param ttl the ttl to create.
+   * @param <O> type of the observers.
+   *
+   * @return a newly created cached line.
+   */
+  @NotNull
+  static <O> Cached<O> cached(@NotNull final Line<O> line, @NotNull final Duration ttl) {
+    return Line.cached(line, ttl, 1024);
+  }
+
+  /**
+   * creates a cached line which evaluates the line for each observer at most once per ttl.
+   *
+   * @param line the line to create.
+   * @param ttl the ttl to create.
+   * @param maximumSize the maximum size to create.
+   * @param <O> type of the observers.
+   *
+   * @return a newly created cached line.
+   *
+   * @throws IllegalArgumentException if the ttl is negative or the maximum size is lower than 1.
+   */
+  @NotNull
+  static <O> Cached<O> cached(@NotNull final Line<O> line, @NotNull final Duration ttl, final int maximumSize) {
+    if (ttl.isNegative() || maximumSize < 1) {
+      throw new IllegalArgumentException("Ttl shouldn't negative and maximum size shouldn't less than 1.");
+    }
+    return new Cached<>(line, ttl.toNanos(), maximumSize);
+  }
+
   /**
    * creates a simple dynamic line instance.
    *
@@ -55,6 +138,37 @@ public interface Line<O> extends Function<@NotNull O, @NotNull String>, Closeabl
     return new Impl<>(line, false);
   }
 
+  /**
+   * creates a global line instance which doesn't depend on the observer.
+   * <p>
+   * the render pipeline evaluates global lines once per board tick and shares the result with every observer.
+   *
+   * @param line the line to create.
+   * @param <O> type of the observers.
+   *
+   * @return a newly created global line instance.
+   */
+  @NotNull
+  static <O> Line<O> global(@NotNull final Supplier<@NotNull String> line) {
+    return new Global<>(line, false, false);
+  }
+
+  /**
+   * creates a group line instance which depends only on the group key of the observer.
+   * <p>
+   * the render pipeline evaluates group lines once per group key per board tick with one of the observers in the group
+   * and shares the result with the others, so the line shouldn't depend on anything but the group key.
+   *
+   * @param line the line to create.
+   * @param <O> type of the observers.
+   *
+   * @return a newly created group line instance.
+   */
+  @NotNull
+  static <O> Line<O> grouped(@NotNull final Function<@NotNull O, @NotNull String> line) {
+    return new Grouped<>(line, false);
+  }
+
   /**
    * creates a simple line instance.
    *
@@ -65,7 +179,24 @@ public interface Line<O> extends Function<@NotNull O, @NotNull String>, Closeabl
    */
   @NotNull
   static <O> Line<O> immutable(@NotNull final String line) {
-    return new Impl<>(observer -> line, false);
+    return new Global<>(() -> line, false, false);
+  }
+
+  /**
+   * creates a simple line instance which is translated with the color once.
+   * <p>
+   * the render pipeline doesn't translate the line again on every tick.
+   *
+   * @param line the line to create.
+   * @param color the color to create.
+   * @param <O> type of the observers.
+   *
+   * @return a newly created line instance.
+   */
+  @NotNull
+  static <O> Line<O> immutable(@NotNull final String line, @NotNull final LineColor color) {
+    final var translated = color.format(line);
+    return new Global<>(() -> translated, true, false);
   }
 
   /**
@@ -95,10 +226,67 @@ public interface Line<O> extends Function<@NotNull O, @NotNull String>, Closeabl
     return Line.merged(List.of(lines));
   }
 
+  /**
+   * creates a template line.
+   * <p>
+   * the template is parsed once into the static segments and the placeholders which are written as {@code {name}},
+   * e.g. {@code "&aKills: {kills} &7| {coins}"}. the line caches the last value of each placeholder for each observer
+   * and concatenates the segments again only if at least one of the placeholders changed.
+   *
+   * @param template the template to create.
+   * @param placeholders the placeholders to create.
+   * @param <O> type of the observers.
+   *
+   * @return a newly created template line.
+   *
+   * @throws IllegalArgumentException if the template has an unclosed or unknown placeholder.
+   * @see LineCompiler#compile(String, Map)
+   */
+  @NotNull
+  static <O> Template<O> template(@NotNull final String template,
+                                  @NotNull final Map<String, Function<@NotNull O, @NotNull String>> placeholders) {
+    return Template.parse(template, placeholders);
+  }
+
+  /**
+   * renders the line for the observer on the board tick.
+   * <p>
+   * the render pipeline calls this method with the tick of the board, so the lines which change by time, such as
+   * {@link AnimatedLine}, can derive their state from the tick.
+   *
+   * @param observer the observer to apply.
+   * @param tick the tick to apply.
+   *
+   * @return rendered line.
+   */
+  @NotNull
+  default String apply(@NotNull final O observer, final long tick) {
+    return this.apply(observer);
+  }
+
   @Override
   default void close() {
   }
 
+  /**
+   * obtains the scope.
+   *
+   * @return scope.
+   */
+  @NotNull
+  default LineScope getScope() {
+    return LineScope.OBSERVER;
+  }
+
+  /**
+   * checks if the line is translated with the color when it's built, so the render pipeline doesn't translate it.
+   *
+   * @return {@code true} if the line is translated already.
+   */
+  default boolean isTranslated() {
+    return false;
+  }
+
   /**
    * checks if the line should update every sent.
    *
@@ -106,6 +294,14 @@ public interface Line<O> extends Function<@NotNull O, @NotNull String>, Closeabl
    */
   boolean isUpdate();
 
+  /**
+   * runs when the observer stops observing the board of the line.
+   *
+   * @param observer the observer which left.
+   */
+  default void leave(@NotNull final O observer) {
+  }
+
   /**
    * an envelope implementation of {@link Line}.
    *
@@ -122,6 +318,341 @@ public interface Line<O> extends Function<@NotNull O, @NotNull String>, Closeabl
     private final Line<O> delegate;
   }
 
+  /**
+   * a class that represents async lines.
+   *
+   * @param <O> type of the observer.
+   */
+  @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+  final class Async<O> implements Line<O> {
+
+    /**
+     * the function.
+     */
+    @NotNull
+    private final Function<@NotNull O, @NotNull CompletionStage<String>> function;
+
+    /**
+     * the placeholder.
+     */
+    @NotNull
+    @Getter
+    private final String placeholder;
+
+    /**
+     * the refresh interval in nanoseconds.
+     */
+    private final long refreshInterval;
+
+    /**
+     * the states.
+     */
+    private final Map<O, State> states = new ConcurrentHashMap<>();
+
+    @NotNull
+    @Override
+    public String apply(@NotNull final O o) {
+      var state = this.states.get(o);
+      if (state == null) {
+        state = this.states.computeIfAbsent(o, observer -> new State(this.placeholder));
+      }
+      if (System.nanoTime() - state.refreshAt >= 0L && state.inFlight.compareAndSet(false, true)) {
+        this.refresh(o, state);
+      }
+      return state.value;
+    }
+
+    @Override
+    public void close() {
+      this.states.clear();
+    }
+
+    @Override
+    public boolean isUpdate() {
+      return false;
+    }
+
+    @Override
+    public void leave(@NotNull final O observer) {
+      this.states.remove(observer);
+    }
+
+    /**
+     * starts a refresh for the observer.
+     *
+     * @param observer the observer to refresh.
+     * @param state the state to refresh.
+     */
+    private void refresh(@NotNull final O observer, @NotNull final State state) {
+      final CompletionStage<String> stage;
+      try {
+        stage = this.function.apply(observer);
+      } catch (final RuntimeException e) {
+        state.complete(null, this.refreshInterval);
+        throw e;
+      }
+      stage.whenComplete((value, throwable) -> state.complete(throwable == null ? value : null,
+        this.refreshInterval));
+    }
+
+    /**
+     * a class that represents async states of the observers.
+     */
+    private static final class State {
+
+      /**
+       * the in flight.
+       */
+      private final AtomicBoolean inFlight = new AtomicBoolean();
+
+      /**
+       * the refresh at.
+       */
+      private volatile long refreshAt = System.nanoTime();
+
+      /**
+       * the value.
+       */
+      @NotNull
+      private volatile String value;
+
+      /**
+       * ctor.
+       *
+       * @param value the value.
+       */
+      private State(@NotNull final String value) {
+        this.value = value;
+      }
+
+      /**
+       * completes the in flight refresh.
+       *
+       * @param value the value to complete, {@code null} to keep the last known value.
+       * @param refreshInterval the refresh interval to complete.
+       */
+      private void complete(@Nullable final String value, final long refreshInterval) {
+        if (value != null) {
+          this.value = value;
+        }
+        this.refreshAt = System.nanoTime() + refreshInterval;
+        this.inFlight.set(false);
+      }
+    }
+  }
+
+  /**
+   * a class that represents cached lines.
+   * <p>
+   * memoizes the rendered line for each observer until the ttl expires, the observer leaves or the entry is
+   * invalidated.
+   *
+   * @param <O> type of the observer.
+   */
+  final class Cached<O> extends Envelope<O> {
+
+    /**
+     * the entries.
+     */
+    private final Map<O, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * the maximum size.
+     */
+    @Getter
+    private final int maximumSize;
+
+    /**
+     * the ttl in nanoseconds.
+     */
+    private final long ttl;
+
+    /**
+     * ctor.
+     *
+     * @param delegate the delegate.
+     * @param ttl the ttl.
+     * @param maximumSize the maximum size.
+     */
+    private Cached(@NotNull final Line<O> delegate, final long ttl, final int maximumSize) {
+      super(delegate);
+      this.ttl = ttl;
+      this.maximumSize = maximumSize;
+    }
+
+    @NotNull
+    @Override
+    public String apply(@NotNull final O o) {
+      return this.load(o, super::apply);
+    }
+
+    @NotNull
+    @Override
+    public String apply(@NotNull final O observer, final long tick) {
+      return this.load(observer, o -> super.apply(o, tick));
+    }
+
+    @Override
+    public void close() {
+      this.invalidateAll();
+      super.close();
+    }
+
+    /**
+     * loads the value of the observer from the cache or the loader.
+     *
+     * @param observer the observer to load.
+     * @param loader the loader to render on a miss.
+     *
+     * @return loaded value.
+     */
+    @NotNull
+    private String load(@NotNull final O observer, @NotNull final Function<O, String> loader) {
+      final var now = System.nanoTime();
+      final var entry = this.entries.get(observer);
+      if (entry != null && now - entry.expiresAt < 0L) {
+        return entry.value;
+      }
+      final var value = loader.apply(observer);
+      if (entry == null && this.entries.size() >= this.maximumSize) {
+        this.evict(now);
+      }
+      this.entries.put(observer, new Entry(now + this.ttl, value));
+      return value;
+    }
+
+    @Override
+    public void leave(@NotNull final O observer) {
+      this.invalidate(observer);
+      super.leave(observer);
+    }
+
+    /**
+     * obtains the cached entry count.
+     *
+     * @return cached entry count.
+     */
+    public int getSize() {
+      return this.entries.size();
+    }
+
+    /**
+     * invalidates the cached line of the observer.
+     *
+     * @param observer the observer to invalidate.
+     */
+    public void invalidate(@NotNull final O observer) {
+      this.entries.remove(observer);
+    }
+
+    /**
+     * invalidates the cached lines of all the observers.
+     */
+    public void invalidateAll() {
+      this.entries.clear();
+    }
+
+    /**
+     * evicts the expired entries, and the entry which expires first if there is no expired entry.
+     *
+     * @param now the now to evict.
+     */
+    private void evict(final long now) {
+      this.entries.values().removeIf(entry -> now - entry.expiresAt >= 0L);
+      if (this.entries.size() < this.maximumSize) {
+        return;
+      }
+      this.entries.entrySet().stream()
+        .min(Comparator.comparingLong(entry -> entry.getValue().expiresAt))
+        .ifPresent(entry -> this.entries.remove(entry.getKey(), entry.getValue()));
+    }
+
+    /**
+     * a class that represents cached entries.
+     */
+    @RequiredArgsConstructor
+    private static final class Entry {
+
+      /**
+       * the expires at.
+       */
+      private final long expiresAt;
+
+      /**
+       * the value.
+       */
+      @NotNull
+      private final String value;
+    }
+  }
+
+  /**
+   * a class that represents global lines.
+   *
+   * @param <O> type of the observer.
+   */
+  @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+  final class Global<O> implements Line<O> {
+
+    /**
+     * the supplier.
+     */
+    @NotNull
+    private final Supplier<@NotNull String> supplier;
+
+    /**
+     * the translated.
+     */
+    @Getter
+    private final boolean translated;
+
+    /**
+     * the update.
+     */
+    @Getter
+    private final boolean update;
+
+    @NotNull
+    @Override
+    public String apply(@NotNull final O o) {
+      return this.supplier.get();
+    }
+
+    @NotNull
+    @Override
+    public LineScope getScope() {
+      return LineScope.GLOBAL;
+    }
+  }
+
+  /**
+   * a class that represents group lines.
+   *
+   * @param <O> type of the observer.
+   */
+  @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+  final class Grouped<O> implements Line<O> {
+
+    /**
+     * the function.
+     */
+    @NotNull
+    @Delegate
+    private final Function<@NotNull O, @NotNull String> function;
+
+    /**
+     * the update.
+     */
+    @Getter
+    private final boolean update;
+
+    @NotNull
+    @Override
+    public LineScope getScope() {
+      return LineScope.GROUP;
+    }
+  }
+
   /**
    * a simple implementation of {@link Line}.
    *
@@ -166,9 +697,199 @@ public interface Line<O> extends Function<@NotNull O, @NotNull String>, Closeabl
         .collect(Collectors.joining(""));
     }
 
+    @NotNull
+    @Override
+    public String apply(@NotNull final O observer, final long tick) {
+      return this.lines.stream()
+        .map(line -> line.apply(observer, tick))
+        .collect(Collectors.joining(""));
+    }
+
+    @NotNull
+    @Override
+    public LineScope getScope() {
+      var scope = LineScope.GLOBAL;
+      for (final var line : this.lines) {
+        final var current = line.getScope();
+        if (current == LineScope.OBSERVER) {
+          return LineScope.OBSERVER;
+        }
+        if (current == LineScope.GROUP) {
+          scope = LineScope.GROUP;
+        }
+      }
+      return scope;
+    }
+
+    @Override
+    public boolean isTranslated() {
+      return this.lines.stream().allMatch(Line::isTranslated);
+    }
+
     @Override
     public boolean isUpdate() {
       return this.lines.stream().anyMatch(Line::isUpdate);
     }
+
+    @Override
+    public void leave(@NotNull final O observer) {
+      this.lines.forEach(line -> line.leave(observer));
+    }
+  }
+
+  /**
+   * a class that represents template lines.
+   *
+   * @param <O> type of the observer.
+   */
+  @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+  final class Template<O> implements Line<O> {
+
+    /**
+     * the resolvers of the placeholders.
+     */
+    @NotNull
+    @Getter(AccessLevel.PACKAGE)
+    private final List<Function<@NotNull O, @NotNull String>> resolvers;
+
+    /**
+     * the static segments, there is one more segment than the resolvers.
+     */
+    @NotNull
+    @Getter(AccessLevel.PACKAGE)
+    private final List<String> segments;
+
+    /**
+     * the states.
+     */
+    private final Map<O, State> states = new ConcurrentHashMap<>();
+
+    /**
+     * parses the template.
+     *
+     * @param template the template to parse.
+     * @param placeholders the placeholders to parse.
+     * @param <O> type of the observers.
+     *
+     * @return parsed template line.
+     *
+     * @throws IllegalArgumentException if the template has an unclosed or unknown placeholder.
+     */
+    @NotNull
+    private static <O> Template<O> parse(
+      @NotNull final String template,
+      @NotNull final Map<String, Function<@NotNull O, @NotNull String>> placeholders) {
+      final var resolvers = new ArrayList<Function<@NotNull O, @NotNull String>>();
+      final var segments = new ArrayList<String>();
+      var from = 0;
+      var open = template.indexOf('{');
+      while (open != -1) {
+        final var close = template.indexOf('}', open + 1);
+        if (close == -1) {
+          throw new IllegalArgumentException(String.format("Placeholder at %s isn't closed in %s", open, template));
+        }
+        final var name = template.substring(open + 1, close);
+        final var resolver = placeholders.get(name);
+        if (resolver == null) {
+          throw new IllegalArgumentException(String.format("Placeholder called %s is unknown.", name));
+        }
+        segments.add(template.substring(from, open));
+        resolvers.add(resolver);
+        from = close + 1;
+        open = template.indexOf('{', from);
+      }
+      segments.add(template.substring(from));
+      return new Template<>(List.copyOf(resolvers), List.copyOf(segments));
+    }
+
+    @NotNull
+    @Override
+    public String apply(@NotNull final O o) {
+      final var size = this.resolvers.size();
+      final var previous = this.states.get(o);
+      String[] values = null;
+      for (var index = 0; index < size; index++) {
+        final var value = this.resolvers.get(index).apply(o);
+        if (values == null) {
+          if (previous != null && value.equals(previous.values[index])) {
+            continue;
+          }
+          values = new String[size];
+          if (previous != null) {
+            System.arraycopy(previous.values, 0, values, 0, index);
+          }
+        }
+        values[index] = value;
+      }
+      if (values == null) {
+        return previous == null ? this.concat(new String[0]) : previous.result;
+      }
+      final var result = this.concat(values);
+      this.states.put(o, new State(result, values));
+      return result;
+    }
+
+    @Override
+    public void close() {
+      this.states.clear();
+    }
+
+    @NotNull
+    @Override
+    public LineScope getScope() {
+      return this.resolvers.isEmpty() ? LineScope.GLOBAL : LineScope.OBSERVER;
+    }
+
+    @Override
+    public boolean isUpdate() {
+      return false;
+    }
+
+    @Override
+    public void leave(@NotNull final O observer) {
+      this.states.remove(observer);
+    }
+
+    /**
+     * concatenates the static segments and the values into a builder which is preallocated with the exact size.
+     *
+     * @param values the values to concatenate.
+     *
+     * @return concatenated line.
+     */
+    @NotNull
+    private String concat(@NotNull final String[] values) {
+      var length = 0;
+      for (final var segment : this.segments) {
+        length += segment.length();
+      }
+      for (final var value : values) {
+        length += value.length();
+      }
+      final var builder = new StringBuilder(length).append(this.segments.get(0));
+      for (var index = 0; index < values.length; index++) {
+        builder.append(values[index]).append(this.segments.get(index + 1));
+      }
+      return builder.toString();
+    }
+
+    /**
+     * a class that represents the last values of the observers.
+     */
+    @RequiredArgsConstructor
+    private static final class State {
+
+      /**
+       * the result.
+       */
+      @NotNull
+      private final String result;
+
+      /**
+       * the values.
+       */
+      @NotNull
+      private final String[] values;
+    }
   }
 }
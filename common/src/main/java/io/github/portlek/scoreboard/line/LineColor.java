@@ -25,14 +25,61 @@
 
 package io.github.portlek.scoreboard.line;
 
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.Delegate;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 /**
  * an interface to determine line colors.
+ * <p>
+ * the render pipeline translates the color codes of the lines with {@link #format(String)}, the static lines and
+ * the frames of the animations can be translated once when they're built, and the colors which format the dynamic
+ * lines every tick should be wrapped with {@link #cached(LineColor)}.
  */
 public interface LineColor {
 
+  /**
+   * creates a cached line color which keeps the recent translations.
+   *
+   * @param color the color to create.
+   *
+   * @return a newly created cached line color.
+   *
+   * @see #cached(LineColor, int)
+   */
+  @NotNull
+  static LineColor cached(@NotNull final LineColor color) {
+    return LineColor.cached(color, 1024);
+  }
+
+  /**
+   * creates a cached line color which keeps the recent translations.
+   * <p>
+   * the translations are kept in a direct-mapped cache which is keyed by the raw text, so formatting the same text
+   * again doesn't scan it for the color codes, and the texts which have no alternate color char are returned as is.
+   *
+   * @param color the color to create.
+   * @param maximumSize the maximum size to create, rounded up to a power of two.
+   *
+   * @return a newly created cached line color.
+   *
+   * @throws IllegalArgumentException if the maximum size is lower than 1.
+   */
+  @NotNull
+  static LineColor cached(@NotNull final LineColor color, final int maximumSize) {
+    if (maximumSize < 1) {
+      throw new IllegalArgumentException("Maximum size shouldn't less than 1.");
+    }
+    if (color instanceof Cached) {
+      return color;
+    }
+    final var slots = Integer.highestOneBit(maximumSize - 1 << 1 | 1);
+    return new Cached(color, new AtomicReferenceArray<>(slots));
+  }
+
   /**
    * the format.
    *
@@ -43,6 +90,35 @@ public interface LineColor {
   @NotNull
   String format(@NotNull String text);
 
+  /**
+   * obtains the alternate color char which is translated into the {@link #getColorChar()}.
+   *
+   * @return alternate color char.
+   */
+  default char getAlternateColorChar() {
+    return '&';
+  }
+
+  /**
+   * obtains the last colors of the text which the text after it inherits.
+   * <p>
+   * the default implementation returns the last valid color code of the text.
+   *
+   * @param text the text to obtain.
+   *
+   * @return last colors of the text, empty if the text has no color code.
+   */
+  @NotNull
+  default String getLastColors(@NotNull final String text) {
+    final var colorChar = this.getColorChar();
+    for (var index = text.length() - 2; index >= 0; index--) {
+      if (text.charAt(index) == colorChar && this.getByChar(text.charAt(index + 1)) != null) {
+        return text.substring(index, index + 2);
+      }
+    }
+    return "";
+  }
+
   /**
    * gets a new color.
    *
@@ -63,4 +139,81 @@ public interface LineColor {
   @NotNull
   @Override
   String toString();
+
+  /**
+   * a class that represents cached line colors.
+   */
+  @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+  final class Cached implements LineColor {
+
+    /**
+     * the delegate.
+     */
+    @NotNull
+    @Delegate(excludes = Format.class)
+    private final LineColor delegate;
+
+    /**
+     * the translations.
+     */
+    @NotNull
+    private final AtomicReferenceArray<Entry> translations;
+
+    @NotNull
+    @Override
+    public String format(@NotNull final String text) {
+      if (text.indexOf(this.delegate.getAlternateColorChar()) == -1) {
+        return text;
+      }
+      final var slot = text.hashCode() & this.translations.length() - 1;
+      final var entry = this.translations.get(slot);
+      if (entry != null && entry.text.equals(text)) {
+        return entry.value;
+      }
+      final var value = this.delegate.format(text);
+      this.translations.set(slot, new Entry(text, value));
+      return value;
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+      return this.delegate.toString();
+    }
+
+    /**
+     * an interface that contains the methods which aren't delegated.
+     */
+    private interface Format {
+
+      /**
+       * the format.
+       *
+       * @param text the text to format.
+       *
+       * @return formatted text.
+       */
+      @NotNull
+      String format(@NotNull String text);
+    }
+
+    /**
+     * a class that represents cache entries.
+     */
+    @RequiredArgsConstructor
+    private static final class Entry {
+
+      /**
+       * the text.
+       */
+      @NotNull
+      private final String text;
+
+      /**
+       * the value.
+       */
+      @NotNull
+      private final String value;
+    }
+  }
 }
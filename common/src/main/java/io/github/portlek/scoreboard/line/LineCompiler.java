@@ -0,0 +1,394 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.scoreboard.line;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.StringConcatException;
+import java.lang.invoke.StringConcatFactory;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a class that compiles template lines into method handles.
+ * <p>
+ * the compiled line binds the resolvers of the placeholders to a string concatenation which is linked by
+ * {@link StringConcatFactory}, the same strategy that javac uses for the string concatenations. each compiled line is
+ * defined as a hidden class which keeps the method handle in a static final field, so the JIT treats the handle as a
+ * constant and inlines the concatenation and the resolvers into the apply method of the line. the Java versions which
+ * have no hidden classes use the interpreted {@link Line.Template} instead.
+ */
+public final class LineCompiler {
+
+  /**
+   * the apply method of the functions.
+   */
+  private static final MethodHandle APPLY;
+
+  /**
+   * the class file of the compiled lines, which takes its method handle from the class data.
+   */
+  private static final byte[] CLASS_FILE = LineCompiler.classFile();
+
+  /**
+   * the lookup.
+   */
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+  /**
+   * the empty class options of the hidden classes, {@code null} if the hidden classes are not supported.
+   */
+  @Nullable
+  private static final Object OPTIONS = LineCompiler.options();
+
+  /**
+   * the method which defines the hidden classes, {@code null} if the hidden classes are not supported.
+   */
+  @Nullable
+  private static final Method DEFINE = LineCompiler.define();
+
+  /**
+   * the type of the resolvers.
+   */
+  private static final MethodType RESOLVER = MethodType.methodType(String.class, Object.class);
+
+  static {
+    try {
+      APPLY = LineCompiler.LOOKUP.findVirtual(Function.class, "apply",
+        MethodType.methodType(Object.class, Object.class));
+    } catch (final NoSuchMethodException | IllegalAccessException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  /**
+   * ctor.
+   */
+  private LineCompiler() {
+  }
+
+  /**
+   * compiles the template line.
+   * <p>
+   * falls back to the interpreted {@link Line.Template} if the template couldn't be compiled, e.g. it has more
+   * placeholders than a string concatenation can take or the running Java version has no hidden classes.
+   *
+   * @param template the template to compile.
+   * @param placeholders the placeholders to compile.
+   * @param <O> type of the observers.
+   *
+   * @return compiled line.
+   *
+   * @throws IllegalArgumentException if the template has an unclosed or unknown placeholder.
+   * @see Line#template(String, Map)
+   */
+  @NotNull
+  public static <O> Line<O> compile(@NotNull final String template,
+                                    @NotNull final Map<String, Function<@NotNull O, @NotNull String>> placeholders) {
+    final var parsed = Line.template(template, placeholders);
+    if (LineCompiler.DEFINE == null) {
+      return parsed;
+    }
+    try {
+      final var lookup = (MethodHandles.Lookup) LineCompiler.DEFINE.invoke(LineCompiler.LOOKUP,
+        LineCompiler.CLASS_FILE, LineCompiler.handle(parsed), true, LineCompiler.OPTIONS);
+      //noinspection unchecked
+      return (Line<O>) lookup.lookupClass().getConstructor(LineScope.class).newInstance(parsed.getScope());
+    } catch (final StringConcatException | ReflectiveOperationException e) {
+      return parsed;
+    }
+  }
+
+  /**
+   * creates the class file of the compiled lines.
+   * <p>
+   * the class extends {@link Compiled}, reads its method handle from the class data into a static final field and
+   * invokes it exactly in {@link Compiled#apply(Object)}.
+   *
+   * @return class file of the compiled lines.
+   */
+  private static byte @NotNull [] classFile() {
+    final var bytes = new ByteArrayOutputStream();
+    try (final var out = new DataOutputStream(bytes)) {
+      out.writeInt(0xCAFEBABE);
+      out.writeShort(0);
+      out.writeShort(55);
+      out.writeShort(35);
+      LineCompiler.utf8(out, "io/github/portlek/scoreboard/line/CompiledLine");
+      LineCompiler.reference(out, 7, 1);
+      LineCompiler.utf8(out, "io/github/portlek/scoreboard/line/LineCompiler$Compiled");
+      LineCompiler.reference(out, 7, 3);
+      LineCompiler.utf8(out, "HANDLE");
+      LineCompiler.utf8(out, "Ljava/lang/invoke/MethodHandle;");
+      LineCompiler.reference(out, 12, 5, 6);
+      LineCompiler.reference(out, 9, 2, 7);
+      LineCompiler.utf8(out, "java/lang/invoke/MethodHandle");
+      LineCompiler.reference(out, 7, 9);
+      LineCompiler.utf8(out, "invokeExact");
+      LineCompiler.utf8(out, "(Ljava/lang/Object;)Ljava/lang/String;");
+      LineCompiler.reference(out, 12, 11, 12);
+      LineCompiler.reference(out, 10, 10, 13);
+      LineCompiler.utf8(out, "<init>");
+      LineCompiler.utf8(out, "(Lio/github/portlek/scoreboard/line/LineScope;)V");
+      LineCompiler.reference(out, 12, 15, 16);
+      LineCompiler.reference(out, 10, 4, 17);
+      LineCompiler.utf8(out, "java/lang/invoke/MethodHandles");
+      LineCompiler.reference(out, 7, 19);
+      LineCompiler.utf8(out, "lookup");
+      LineCompiler.utf8(out, "()Ljava/lang/invoke/MethodHandles$Lookup;");
+      LineCompiler.reference(out, 12, 21, 22);
+      LineCompiler.reference(out, 10, 20, 23);
+      LineCompiler.utf8(out, "classData");
+      LineCompiler.utf8(out,
+        "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/Class;)Ljava/lang/Object;");
+      LineCompiler.reference(out, 12, 25, 26);
+      LineCompiler.reference(out, 10, 20, 27);
+      LineCompiler.utf8(out, "_");
+      LineCompiler.reference(out, 8, 29);
+      LineCompiler.utf8(out, "apply");
+      LineCompiler.utf8(out, "Code");
+      LineCompiler.utf8(out, "<clinit>");
+      LineCompiler.utf8(out, "()V");
+      // public final super, this, super, no interfaces.
+      out.writeShort(0x0031);
+      out.writeShort(2);
+      out.writeShort(4);
+      out.writeShort(0);
+      // private static final MethodHandle HANDLE.
+      out.writeShort(1);
+      out.writeShort(0x001A);
+      out.writeShort(5);
+      out.writeShort(6);
+      out.writeShort(0);
+      out.writeShort(3);
+      // public CompiledLine(LineScope scope) { super(scope); }
+      LineCompiler.method(out, 0x0001, 15, 16, 2, 2, 0x2A, 0x2B, 0xB7, 0x00, 18, 0xB1);
+      // public String apply(Object o) { return (String) HANDLE.invokeExact(o); }
+      LineCompiler.method(out, 0x0001, 31, 12, 2, 2, 0xB2, 0x00, 8, 0x2B, 0xB6, 0x00, 14, 0xB0);
+      // static { HANDLE = MethodHandles.classData(MethodHandles.lookup(), "_", MethodHandle.class); }
+      LineCompiler.method(out, 0x0008, 33, 34, 3, 0, 0xB8, 0x00, 24, 0x12, 30, 0x12, 10, 0xB8, 0x00, 28, 0xC0,
+        0x00, 10, 0xB3, 0x00, 8, 0xB1);
+      out.writeShort(0);
+    } catch (final IOException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * appends the static segment to the recipe as a constant.
+   * <p>
+   * the segments are passed as constants instead of being written into the recipe, so the tag characters of the recipe
+   * in the segments don't need to be escaped.
+   *
+   * @param recipe the recipe to append.
+   * @param constants the constants to append.
+   * @param segment the segment to append.
+   */
+  private static void constant(@NotNull final StringBuilder recipe, @NotNull final List<Object> constants,
+                               @NotNull final String segment) {
+    if (!segment.isEmpty()) {
+      recipe.append('\2');
+      constants.add(segment);
+    }
+  }
+
+  /**
+   * obtains the method which defines the hidden classes with class data.
+   *
+   * @return define method, {@code null} if the hidden classes are not supported.
+   */
+  @Nullable
+  private static Method define() {
+    if (LineCompiler.OPTIONS == null) {
+      return null;
+    }
+    try {
+      return MethodHandles.Lookup.class.getMethod("defineHiddenClassWithClassData", byte[].class, Object.class,
+        boolean.class, LineCompiler.OPTIONS.getClass());
+    } catch (final NoSuchMethodException e) {
+      return null;
+    }
+  }
+
+  /**
+   * creates the method handle of the template which takes the observer and returns the line.
+   *
+   * @param template the template to create.
+   *
+   * @return method handle of the template.
+   *
+   * @throws StringConcatException if the string concatenation couldn't be linked.
+   */
+  @NotNull
+  private static MethodHandle handle(@NotNull final Line.Template<?> template) throws StringConcatException {
+    final var resolvers = template.getResolvers();
+    final var segments = template.getSegments();
+    if (resolvers.isEmpty()) {
+      return MethodHandles.dropArguments(MethodHandles.constant(String.class, segments.get(0)), 0, Object.class);
+    }
+    final var size = resolvers.size();
+    final var recipe = new StringBuilder();
+    final var constants = new ArrayList<>();
+    final var filters = new MethodHandle[size];
+    for (var index = 0; index < size; index++) {
+      LineCompiler.constant(recipe, constants, segments.get(index));
+      recipe.append('\1');
+      filters[index] = LineCompiler.APPLY.bindTo(resolvers.get(index)).asType(LineCompiler.RESOLVER);
+    }
+    LineCompiler.constant(recipe, constants, segments.get(size));
+    final var arguments = new Class<?>[size];
+    Arrays.fill(arguments, String.class);
+    final var concat = StringConcatFactory.makeConcatWithConstants(LineCompiler.LOOKUP, "template",
+        MethodType.methodType(String.class, arguments), recipe.toString(), constants.toArray())
+      .getTarget();
+    return MethodHandles.permuteArguments(MethodHandles.filterArguments(concat, 0, filters), LineCompiler.RESOLVER,
+      new int[size]);
+  }
+
+  /**
+   * writes a method which has only a code attribute.
+   *
+   * @param out the out to write.
+   * @param access the access flags to write.
+   * @param name the name index to write.
+   * @param descriptor the descriptor index to write.
+   * @param stack the max stack to write.
+   * @param locals the max locals to write.
+   * @param code the code to write.
+   *
+   * @throws IOException if the method couldn't be written.
+   */
+  private static void method(@NotNull final DataOutputStream out, final int access, final int name,
+                             final int descriptor, final int stack, final int locals, final int... code)
+    throws IOException {
+    out.writeShort(access);
+    out.writeShort(name);
+    out.writeShort(descriptor);
+    out.writeShort(1);
+    out.writeShort(32);
+    out.writeInt(12 + code.length);
+    out.writeShort(stack);
+    out.writeShort(locals);
+    out.writeInt(code.length);
+    for (final var instruction : code) {
+      out.writeByte(instruction);
+    }
+    out.writeShort(0);
+    out.writeShort(0);
+  }
+
+  /**
+   * obtains the empty class options of the hidden classes.
+   *
+   * @return empty class options, {@code null} if the hidden classes are not supported.
+   */
+  @Nullable
+  private static Object options() {
+    try {
+      return Array.newInstance(Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption"), 0);
+    } catch (final ClassNotFoundException e) {
+      return null;
+    }
+  }
+
+  /**
+   * writes a constant pool entry which references the other entries.
+   *
+   * @param out the out to write.
+   * @param tag the tag to write.
+   * @param indexes the indexes to write.
+   *
+   * @throws IOException if the entry couldn't be written.
+   */
+  private static void reference(@NotNull final DataOutputStream out, final int tag, final int... indexes)
+    throws IOException {
+    out.writeByte(tag);
+    for (final var index : indexes) {
+      out.writeShort(index);
+    }
+  }
+
+  /**
+   * writes a utf8 constant pool entry.
+   *
+   * @param out the out to write.
+   * @param value the value to write.
+   *
+   * @throws IOException if the entry couldn't be written.
+   */
+  private static void utf8(@NotNull final DataOutputStream out, @NotNull final String value) throws IOException {
+    out.writeByte(1);
+    out.writeUTF(value);
+  }
+
+  /**
+   * a class that represents the super class of the compiled lines.
+   * <p>
+   * the hidden classes which extend it implement {@link #apply(Object)} with their constant method handle.
+   *
+   * @param <O> type of the observer.
+   */
+  abstract static class Compiled<O> implements Line<O> {
+
+    /**
+     * the scope.
+     */
+    @NotNull
+    @Getter
+    private final LineScope scope;
+
+    /**
+     * ctor.
+     *
+     * @param scope the scope.
+     */
+    protected Compiled(@NotNull final LineScope scope) {
+      this.scope = scope;
+    }
+
+    @NotNull
+    @Override
+    public abstract String apply(@NotNull O o);
+
+    @Override
+    public boolean isUpdate() {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,205 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.scoreboard.line;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * a class that splits the rendered lines into the prefixes and the suffixes of the scoreboard teams.
+ * <p>
+ * the split is computed once per distinct line with respect to the color codes, so a color code is never cut in half
+ * and the suffix carries the last colors of the prefix, and the recent splits are kept in a direct-mapped cache which
+ * is keyed by the line.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class LineLayout {
+
+  /**
+   * the cache.
+   */
+  @NotNull
+  private final AtomicReferenceArray<Layout> cache;
+
+  /**
+   * the color.
+   */
+  @NotNull
+  private final LineColor color;
+
+  /**
+   * the maximum length of the prefixes and the suffixes.
+   */
+  @Getter
+  private final int limit;
+
+  /**
+   * creates a line layout which keeps 1024 splits at most.
+   *
+   * @param color the color to create.
+   * @param limit the limit to create.
+   *
+   * @return a newly created line layout.
+   *
+   * @see #create(LineColor, int, int)
+   */
+  @NotNull
+  public static LineLayout create(@NotNull final LineColor color, final int limit) {
+    return LineLayout.create(color, limit, 1024);
+  }
+
+  /**
+   * creates a line layout.
+   *
+   * @param color the color to create.
+   * @param limit the limit to create.
+   * @param maximumSize the maximum size to create, rounded up to a power of two.
+   *
+   * @return a newly created line layout.
+   *
+   * @throws IllegalArgumentException if the limit is lower than 4 or the maximum size is lower than 1.
+   */
+  @NotNull
+  public static LineLayout create(@NotNull final LineColor color, final int limit, final int maximumSize) {
+    if (limit < 4 || maximumSize < 1) {
+      throw new IllegalArgumentException("Limit shouldn't less than 4 and maximum size shouldn't less than 1.");
+    }
+    final var slots = Integer.highestOneBit(maximumSize - 1 << 1 | 1);
+    return new LineLayout(new AtomicReferenceArray<>(slots), color, limit);
+  }
+
+  /**
+   * lays out the line.
+   *
+   * @param line the line to lay out.
+   *
+   * @return layout of the line.
+   */
+  @NotNull
+  public Layout apply(@NotNull final String line) {
+    final var slot = line.hashCode() & this.cache.length() - 1;
+    final var cached = this.cache.get(slot);
+    if (cached != null && (cached.line == line || cached.line.equals(line))) {
+      return cached;
+    }
+    final var layout = this.split(line);
+    this.cache.set(slot, layout);
+    return layout;
+  }
+
+  /**
+   * splits the line.
+   *
+   * @param line the line to split.
+   *
+   * @return layout of the line.
+   */
+  @NotNull
+  private Layout split(@NotNull final String line) {
+    if (line.length() <= this.limit) {
+      return new Layout(line, "", line, "", "");
+    }
+    final var colorChar = this.color.getColorChar();
+    final var length = this.limit - 1;
+    final var prefix = line.substring(0, length);
+    if (prefix.charAt(length - 1) == colorChar || prefix.charAt(length - 2) == colorChar) {
+      final var suffix = this.truncate(line.substring(length - 2));
+      return new Layout(line, "", prefix.substring(0, length - 2), suffix, suffix);
+    }
+    final var colors = this.color.getLastColors(prefix);
+    final var rest = line.substring(length);
+    return new Layout(line, colors, prefix, this.truncate(rest), this.truncate(colors + rest));
+  }
+
+  /**
+   * truncates the suffix to the limit.
+   *
+   * @param suffix the suffix to truncate.
+   *
+   * @return truncated suffix.
+   */
+  @NotNull
+  private String truncate(@NotNull final String suffix) {
+    return suffix.length() < this.limit ? suffix : suffix.substring(0, this.limit - 1);
+  }
+
+  /**
+   * a class that represents the layouts of the lines.
+   */
+  @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+  public static final class Layout {
+
+    /**
+     * the line.
+     */
+    @NotNull
+    @Getter
+    private final String line;
+
+    /**
+     * the last colors of the prefix.
+     */
+    @NotNull
+    private final String colors;
+
+    /**
+     * the prefix.
+     */
+    @NotNull
+    @Getter
+    private final String prefix;
+
+    /**
+     * the suffix which doesn't carry the last colors of the prefix.
+     */
+    @NotNull
+    private final String inherited;
+
+    /**
+     * the suffix which carries the last colors of the prefix.
+     */
+    @NotNull
+    private final String suffix;
+
+    /**
+     * obtains the suffix.
+     * <p>
+     * the suffix carries the last colors of the prefix unless the text between the prefix and the suffix, such as
+     * the entry of the team, ends with the same colors.
+     *
+     * @param colors the last colors of the text between the prefix and the suffix.
+     *
+     * @return suffix.
+     */
+    @NotNull
+    public String getSuffix(@NotNull final String colors) {
+      return this.colors.equalsIgnoreCase(colors) ? this.inherited : this.suffix;
+    }
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.scoreboard.line;
+
+/**
+ * an enum class that contains line scopes which determine how often the render pipeline evaluates a line.
+ */
+public enum LineScope {
+  /**
+   * the observer, the line is evaluated for each observer.
+   */
+  OBSERVER,
+  /**
+   * the group, the line depends only on the group key of the observer, such as its world or team, so it's evaluated
+   * once per distinct group key per board tick and the result is shared with every observer in the group.
+   *
+   * @see io.github.portlek.scoreboard.Board.Builder#setGroupKey(java.util.function.Function)
+   */
+  GROUP,
+  /**
+   * the global, the line doesn't depend on the observer so it's evaluated once per board tick and the result is
+   * shared with every observer.
+   */
+  GLOBAL
+}
@@ -0,0 +1,127 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package io.github.portlek.scoreboard.line.lines;
+
+import java.util.AbstractList;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * a class that represents read-only frame lists which synthesize the frames on demand.
+ * <p>
+ * the recently synthesized frames are kept in a small direct-mapped cache, so rendering the same frame for many
+ * boards in a tick synthesizes it once, while the whole animation never has to be kept in the memory.
+ */
+final class CompactFrames extends AbstractList<String> implements RandomAccess {
+
+  /**
+   * the slot count of the cache.
+   */
+  private static final int SLOTS = 16;
+
+  /**
+   * the total character count that makes the frames compact.
+   */
+  private static final long THRESHOLD = 8192L;
+
+  /**
+   * the cache.
+   */
+  private final AtomicReferenceArray<Entry> cache = new AtomicReferenceArray<>(CompactFrames.SLOTS);
+
+  /**
+   * the size.
+   */
+  private final int size;
+
+  /**
+   * the synthesizer.
+   */
+  @NotNull
+  private final IntFunction<String> synthesizer;
+
+  /**
+   * ctor.
+   *
+   * @param size the size.
+   * @param synthesizer the synthesizer.
+   */
+  CompactFrames(final int size, @NotNull final IntFunction<String> synthesizer) {
+    this.size = size;
+    this.synthesizer = synthesizer;
+  }
+
+  /**
+   * checks if the frames should be compact.
+   *
+   * @param characters the total character count of the frames.
+   *
+   * @return {@code true} if the frames should be compact.
+   */
+  static boolean isCompact(final long characters) {
+    return characters > CompactFrames.THRESHOLD;
+  }
+
+  @NotNull
+  @Override
+  public String get(final int index) {
+    Objects.checkIndex(index, this.size);
+    final var slot = index & CompactFrames.SLOTS - 1;
+    final var entry = this.cache.get(slot);
+    if (entry != null && entry.index == index) {
+      return entry.value;
+    }
+    final var value = this.synthesizer.apply(index);
+    this.cache.set(slot, new Entry(index, value));
+    return value;
+  }
+
+  @Override
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * a class that represents cache entries.
+   */
+  @RequiredArgsConstructor
+  private static final class Entry {
+
+    /**
+     * the index.
+     */
+    private final int index;
+
+    /**
+     * the value.
+     */
+    @NotNull
+    private final String value;
+  }
+}
@@ -26,34 +26,49 @@
 package io.github.portlek.scoreboard.line.lines;
 
 import io.github.portlek.scoreboard.line.AnimatedLine;
+import io.github.portlek.scoreboard.line.LineScope;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.AccessLevel;
-import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 /**
  * a class that represents framed lines.
+ * <p>
+ * the boards render the frames by their tick, {@link #getNext(Object)}, {@link #getPrevious(Object)} and
+ * {@link #getCurrentFrame()} are kept for compatibility and step the same animation which {@link #apply(Object)}
+ * renders without a tick.
  *
  * @param <O> type of the observers.
  */
-@RequiredArgsConstructor(access = AccessLevel.PROTECTED)
 public abstract class FramedLine<O> implements AnimatedLine<O> {
 
+  /**
+   * the step of the applies which have no tick.
+   */
+  private final AtomicLong step = new AtomicLong();
+
   /**
    * the frames.
+   * <p>
+   * the subclasses which generate large animations can replace the frames with a compact list that synthesizes the
+   * frames on demand, the compact frames are copied into a modifiable list on the first add, remove or set.
    */
   @NotNull
-  protected final List<String> frames;
+  @Setter(AccessLevel.PROTECTED)
+  protected List<String> frames;
 
   /**
-   * the current frame.
+   * ctor.
+   *
+   * @param frames the frames.
    */
-  @Getter
-  @Setter
-  protected int currentFrame = -1;
+  protected FramedLine(@NotNull final List<String> frames) {
+    this.frames = frames;
+  }
 
   /**
    * adds the frame.
@@ -61,7 +76,7 @@ public abstract class FramedLine<O> implements AnimatedLine<O> {
    * @param string the string to add.
    */
   public final void addFrame(@NotNull final String string) {
-    this.frames.add(string);
+    this.modifiableFrames().add(string);
   }
 
   /**
@@ -91,7 +106,7 @@ public abstract class FramedLine<O> implements AnimatedLine<O> {
    * @param frame the frame to remove.
    */
   public final void removeFrame(@NotNull final String frame) {
-    this.frames.remove(frame);
+    this.modifiableFrames().remove(frame);
   }
 
   /**
@@ -101,35 +116,96 @@ public abstract class FramedLine<O> implements AnimatedLine<O> {
    * @param frame the frame to set.
    */
   public final void setFrame(final int index, @NotNull final String frame) {
-    this.frames.set(index, frame);
+    this.modifiableFrames().set(index, frame);
+  }
+
+  /**
+   * obtains the frames, copies the compact frames into a modifiable list first.
+   *
+   * @return modifiable frames.
+   */
+  @NotNull
+  private List<String> modifiableFrames() {
+    if (this.frames instanceof CompactFrames) {
+      this.frames = new ArrayList<>(this.frames);
+    }
+    return this.frames;
+  }
+
+  /**
+   * obtains the index of the current frame.
+   *
+   * @return index of the current frame, -1 if the animation hasn't started yet.
+   *
+   * @deprecated the frames are derived from the board tick, use {@link #getFrameAt(Object, long)} instead.
+   */
+  @Deprecated
+  public int getCurrentFrame() {
+    final var current = this.step.get();
+    final var size = this.frames.size();
+    return current == 0L || size == 0 ? -1 : Math.floorMod(current - 1L, size);
+  }
+
+  /**
+   * sets the index of the current frame.
+   *
+   * @param currentFrame the current frame to set.
+   *
+   * @deprecated the frames are derived from the board tick, use {@link #getFrameAt(Object, long)} instead.
+   */
+  @Deprecated
+  public void setCurrentFrame(final int currentFrame) {
+    this.step.set(currentFrame + 1L);
+  }
+
+  @NotNull
+  @Override
+  public String apply(@NotNull final O o) {
+    return this.apply(o, this.step.getAndIncrement());
   }
 
   @Nullable
   @Override
   public String getCurrent(@NotNull final O observer) {
-    if (this.currentFrame <= -1) {
+    final var size = this.frames.size();
+    if (size == 0) {
       return null;
     }
-    return this.frames.get(this.currentFrame);
+    return this.frames.get(Math.floorMod(this.step.get(), size));
+  }
+
+  @NotNull
+  @Override
+  public String getFrameAt(@NotNull final O observer, final long step) {
+    return this.frames.get(Math.floorMod(step, this.frames.size()));
   }
 
   @NotNull
   @Override
+  @Deprecated
   public String getNext(@NotNull final O observer) {
-    this.currentFrame++;
-    if (this.currentFrame >= this.frames.size()) {
-      this.currentFrame = 0;
-    }
-    return this.frames.get(this.currentFrame);
+    return this.getFrameAt(observer, this.step.getAndIncrement());
   }
 
   @NotNull
   @Override
+  @Deprecated
   public String getPrevious(@NotNull final O observer) {
-    this.currentFrame--;
-    if (this.currentFrame <= -1) {
-      this.currentFrame = this.frames.size() - 1;
-    }
-    return this.frames.get(this.currentFrame);
+    final var size = this.frames.size();
+    return this.getFrameAt(observer, this.step.updateAndGet(current -> current == 0L ? size : current - 1L) - 1L);
+  }
+
+  /**
+   * obtains the scope.
+   * <p>
+   * the frames don't depend on the observer, so the line is rendered once per board tick, subclasses which render
+   * different frames for the observers should override this.
+   *
+   * @return scope.
+   */
+  @NotNull
+  @Override
+  public LineScope getScope() {
+    return LineScope.GLOBAL;
   }
 }
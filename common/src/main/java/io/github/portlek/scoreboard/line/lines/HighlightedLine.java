@@ -87,19 +87,37 @@ public abstract class HighlightedLine<O> extends FramedLine<O> {
 
   /**
    * generates the highlighted frames.
+   * <p>
+   * the frames of long contexts are synthesized on demand instead, since each frame contains the whole context.
    */
   protected final void generate() {
-    var index = 0;
-    while (index < this.context.length()) {
-      if (this.context.charAt(index) == ' ') {
-        this.addFrame(this.prefix + this.normalFormat + this.context + this.suffix);
-      } else {
-        final var highlighted = this.normalFormat + this.context.substring(0, index) +
-          this.highlightFormat + this.context.charAt(index) +
-          this.normalFormat + this.context.substring(index + 1);
-        this.addFrame(this.prefix + highlighted + this.suffix);
-      }
-      index++;
+    final var length = this.context.length();
+    final var frameLength = this.prefix.length() + this.normalFormat.length() * 2L + this.highlightFormat.length() +
+      length + this.suffix.length();
+    if (CompactFrames.isCompact(frameLength * length)) {
+      this.setFrames(new CompactFrames(length, this::frame));
+      return;
     }
+    for (var index = 0; index < length; index++) {
+      this.addFrame(this.frame(index));
+    }
+  }
+
+  /**
+   * creates the frame of the index.
+   *
+   * @param index the index to create.
+   *
+   * @return frame of the index.
+   */
+  @NotNull
+  private String frame(final int index) {
+    if (this.context.charAt(index) == ' ') {
+      return this.prefix + this.normalFormat + this.context + this.suffix;
+    }
+    final var highlighted = this.normalFormat + this.context.substring(0, index) +
+      this.highlightFormat + this.context.charAt(index) +
+      this.normalFormat + this.context.substring(index + 1);
+    return this.prefix + highlighted + this.suffix;
   }
 }
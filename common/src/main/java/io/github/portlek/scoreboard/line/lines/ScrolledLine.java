@@ -22,27 +22,30 @@
  * SOFTWARE.
  *
  */
-
 package io.github.portlek.scoreboard.line.lines;
 
 import io.github.portlek.scoreboard.line.LineColor;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
+import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * a class that represents scrolled lines.
+ * <p>
+ * the frames are resolved with their colors once in {@link #generate()}, so each scroll step is an index lookup.
+ * the frames of long messages are synthesized from a shared text on demand.
  *
  * @param <O> type of the observers.
  */
 public abstract class ScrolledLine<O> extends FramedLine<O> {
 
   /**
-   * the list.
+   * the line color.
    */
   @NotNull
-  private final List<String> list = new ArrayList<>();
+  private final LineColor color;
 
   /**
    * the message.
@@ -50,11 +53,6 @@ public abstract class ScrolledLine<O> extends FramedLine<O> {
   @NotNull
   private final String message;
 
-  /**
-   * the position.
-   */
-  private final AtomicInteger position = new AtomicInteger();
-
   /**
    * the space between.
    */
@@ -65,12 +63,6 @@ public abstract class ScrolledLine<O> extends FramedLine<O> {
    */
   private final int width;
 
-  /**
-   * the line color.
-   */
-  @NotNull
-  private LineColor color;
-
   /**
    * ctor.
    *
@@ -88,32 +80,64 @@ public abstract class ScrolledLine<O> extends FramedLine<O> {
     this.color = color;
   }
 
-  @NotNull
+  /**
+   * checks if the line is translated, the message is translated with the color when the line is built.
+   *
+   * @return {@code true}.
+   */
   @Override
-  public final String getNext(@NotNull final O observer) {
-    var sb = this.generateNextBuilder();
-    if (sb.charAt(sb.length() - 1) == this.color.getColorChar()) {
-      sb.setCharAt(sb.length() - 1, ' ');
-    }
-    if (sb.charAt(0) != this.color.getColorChar()) {
-      return this.color.toString() + sb;
-    }
-    final var charAt = this.color.getByChar(sb.charAt(1));
-    if (charAt == null) {
-      return this.color.toString() + sb;
+  public final boolean isTranslated() {
+    return true;
+  }
+
+  /**
+   * generates the color resolved frames.
+   * <p>
+   * the color of a window is carried to the next windows, so the windows are walked until the same window is reached
+   * with the same color again, and the frames of that cycle become the frames of the line. the frames of long
+   * messages are synthesized on demand from a shared text that contains every window.
+   */
+  protected final void generate() {
+    final var windows = this.generateWindows();
+    if (windows.isEmpty()) {
+      return;
     }
-    this.color = charAt;
-    sb = this.generateNextBuilder();
-    if (sb.charAt(0) != ' ') {
-      sb.setCharAt(0, ' ');
+    final var visited = new HashMap<List<Object>, Integer>();
+    final var steps = new ArrayList<Step>();
+    final var colorChar = this.color.getColorChar();
+    var current = this.color;
+    var position = 0;
+    while (true) {
+      final var start = visited.putIfAbsent(List.of(position, current.toString()), steps.size());
+      if (start != null) {
+        this.install(windows, new ArrayList<>(steps.subList(start, steps.size())));
+        return;
+      }
+      final var window = position;
+      final var text = windows.get(window);
+      position = (position + 1) % windows.size();
+      final var blankLast = text.charAt(text.length() - 1) == colorChar;
+      final var charAt = text.length() > 1 && text.charAt(0) == colorChar
+        ? current.getByChar(blankLast && text.length() == 2 ? ' ' : text.charAt(1))
+        : null;
+      if (charAt == null) {
+        steps.add(new Step(window, current.toString(), false, blankLast));
+        continue;
+      }
+      current = charAt;
+      steps.add(new Step(position, current.toString(), true, false));
+      position = (position + 1) % windows.size();
     }
-    return this.color.toString() + sb;
   }
 
   /**
-   * generates the frame list.
+   * generates the windows of the message.
+   *
+   * @return windows of the message.
    */
-  protected final void generate() {
+  @NotNull
+  private List<String> generateWindows() {
+    final var list = new ArrayList<String>();
     var tempWidth = this.width;
     var tempSpaceBetween = this.spaceBetween;
     var tempMessage = this.message;
@@ -132,33 +156,132 @@ public abstract class ScrolledLine<O> extends FramedLine<O> {
       tempSpaceBetween = 0;
     }
     for (var i = 0; i < tempMessage.length() - tempWidth; i++) {
-      this.list.add(tempMessage.substring(i, i + tempWidth));
+      list.add(tempMessage.substring(i, i + tempWidth));
     }
     final var space = new StringBuilder();
     for (var i = 0; i < tempSpaceBetween; ++i) {
-      this.list.add(tempMessage.substring(tempMessage.length() - tempWidth + Math.min(i, tempWidth)) + space);
+      list.add(tempMessage.substring(tempMessage.length() - tempWidth + Math.min(i, tempWidth)) + space);
       if (space.length() < tempWidth) {
         space.append(" ");
       }
     }
     for (var i = 0; i < tempWidth - tempSpaceBetween; ++i) {
-      this.list.add(tempMessage.substring(tempMessage.length() - tempWidth + tempSpaceBetween + i) + space + tempMessage.substring(0, i));
+      list.add(tempMessage.substring(tempMessage.length() - tempWidth + tempSpaceBetween + i) + space + tempMessage.substring(0, i));
     }
     for (var i = 0; i < tempSpaceBetween; i++) {
       if (i > space.length()) {
         break;
       }
-      this.list.add(space.substring(0, space.length() - i) + tempMessage.substring(0, tempWidth - Math.min(tempSpaceBetween, tempWidth) + i));
+      list.add(space.substring(0, space.length() - i) + tempMessage.substring(0, tempWidth - Math.min(tempSpaceBetween, tempWidth) + i));
     }
+    return list;
   }
 
   /**
-   * generated the next string builder.
+   * installs the frames of the steps.
+   * <p>
+   * the compact frames keep only the shared text and the offsets and the lengths of the windows, so the windows
+   * themselves can be collected.
    *
-   * @return next string builder.
+   * @param windows the windows to install.
+   * @param steps the steps to install.
    */
-  @NotNull
-  private StringBuilder generateNextBuilder() {
-    return new StringBuilder(this.list.get(this.position.getAndIncrement() % this.list.size()));
+  private void install(@NotNull final List<String> windows, @NotNull final List<Step> steps) {
+    final var characters = steps.stream()
+      .mapToLong(step -> step.color.length() + windows.get(step.window).length())
+      .sum();
+    if (!CompactFrames.isCompact(characters)) {
+      steps.forEach(step -> this.addFrame(step.render(windows.get(step.window), 0, windows.get(step.window).length())));
+      return;
+    }
+    final var source = new StringBuilder();
+    final var offsets = new int[windows.size()];
+    final var lengths = new int[windows.size()];
+    for (var index = 0; index < windows.size(); index++) {
+      final var window = windows.get(index);
+      final var overlap = ScrolledLine.overlap(source, window);
+      offsets[index] = source.length() - overlap;
+      lengths[index] = window.length();
+      source.append(window, overlap, window.length());
+    }
+    final var text = source.toString();
+    this.setFrames(new CompactFrames(steps.size(), index -> {
+      final var step = steps.get(index);
+      final var offset = offsets[step.window];
+      return step.render(text, offset, offset + lengths[step.window]);
+    }));
+  }
+
+  /**
+   * calculates the longest suffix of the source which is a prefix of the window.
+   *
+   * @param source the source to calculate.
+   * @param window the window to calculate.
+   *
+   * @return overlap length.
+   */
+  private static int overlap(@NotNull final CharSequence source, @NotNull final String window) {
+    for (var length = Math.min(source.length(), window.length()); length > 0; length--) {
+      final var start = source.length() - length;
+      var matches = true;
+      for (var index = 0; index < length && matches; index++) {
+        matches = source.charAt(start + index) == window.charAt(index);
+      }
+      if (matches) {
+        return length;
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * a class that represents the color resolved windows.
+   */
+  @RequiredArgsConstructor
+  private static final class Step {
+
+    /**
+     * the window.
+     */
+    private final int window;
+
+    /**
+     * the color.
+     */
+    @NotNull
+    private final String color;
+
+    /**
+     * the blank first.
+     */
+    private final boolean blankFirst;
+
+    /**
+     * the blank last.
+     */
+    private final boolean blankLast;
+
+    /**
+     * renders the frame of the window.
+     *
+     * @param text the text to render.
+     * @param start the start to render.
+     * @param end the end to render.
+     *
+     * @return rendered frame.
+     */
+    @NotNull
+    private String render(@NotNull final CharSequence text, final int start, final int end) {
+      final var builder = new StringBuilder(this.color.length() + end - start)
+        .append(this.color)
+        .append(text, start, end);
+      if (this.blankLast) {
+        builder.setCharAt(builder.length() - 1, ' ');
+      }
+      if (this.blankFirst) {
+        builder.setCharAt(this.color.length(), ' ');
+      }
+      return builder.toString();
+    }
   }
 }
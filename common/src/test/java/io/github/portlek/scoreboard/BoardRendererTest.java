@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.scoreboard;
+
+import io.github.portlek.scoreboard.line.Line;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+
+final class BoardRendererTest {
+
+  @Test
+  void global() {
+    final var calls = new AtomicInteger();
+    final var renderer = new BoardRenderer<String>();
+    final Line<String> line = Line.global(() -> "online: " + calls.incrementAndGet());
+    renderer.render(line, "observer-1");
+    renderer.render(line, "observer-2");
+    new Assertion<>(
+      "Global line was evaluated more than once in a tick.",
+      renderer.render(line, "observer-3"),
+      new IsEqual<>("online: 1")
+    ).affirm();
+    renderer.tick();
+    new Assertion<>(
+      "Global line wasn't evaluated in the next tick.",
+      renderer.render(line, "observer-1"),
+      new IsEqual<>("online: 2")
+    ).affirm();
+  }
+
+  @Test
+  void group() {
+    final var calls = new AtomicInteger();
+    final var renderer = new BoardRenderer<String>(observer -> observer.charAt(0));
+    final Line<String> line = Line.grouped(observer -> observer.charAt(0) + ": " + calls.incrementAndGet());
+    renderer.render(line, "a-1");
+    renderer.render(line, "a-2");
+    new Assertion<>(
+      "Group line was evaluated more than once for a group in a tick.",
+      renderer.render(line, "a-3"),
+      new IsEqual<>("a: 1")
+    ).affirm();
+    new Assertion<>(
+      "Group line was shared between the groups.",
+      renderer.render(line, "b-1"),
+      new IsEqual<>("b: 2")
+    ).affirm();
+  }
+
+  @Test
+  void observer() {
+    final var renderer = new BoardRenderer<String>();
+    final var line = Line.<String>merged(Line.immutable("name: "), Line.dynamic(observer -> observer));
+    renderer.render(line, "observer-1");
+    new Assertion<>(
+      "Observer line was shared between the observers.",
+      renderer.render(line, "observer-2"),
+      new IsEqual<>("name: observer-2")
+    ).affirm();
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.scoreboard;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+
+final class BoardSchedulerTest {
+
+  @Test
+  void aligned() throws InterruptedException {
+    try (final var scheduler = new BoardScheduler(5L, 64, 2)) {
+      final var first = new ConcurrentLinkedQueue<Long>();
+      final var second = new ConcurrentLinkedQueue<Long>();
+      final var latch = new CountDownLatch(3);
+      scheduler.schedule(() -> first.add(System.nanoTime()), 0L, 20L, true);
+      scheduler.schedule(() -> {
+        second.add(System.nanoTime());
+        latch.countDown();
+      }, 7L, 20L, true);
+      new Assertion<>(
+        "Aligned tasks didn't run.",
+        latch.await(5L, TimeUnit.SECONDS),
+        new IsEqual<>(true)
+      ).affirm();
+      final var resolution = TimeUnit.MILLISECONDS.toNanos(5L);
+      for (final var run : second) {
+        new Assertion<>(
+          "Aligned tasks didn't run on the same tick.",
+          first.stream().anyMatch(other -> Math.abs(other - run) < resolution),
+          new IsEqual<>(true)
+        ).affirm();
+      }
+    }
+  }
+
+  @Test
+  void cancel() throws InterruptedException {
+    try (final var scheduler = new BoardScheduler(5L, 64, 1)) {
+      final var runs = new AtomicInteger();
+      final var started = new CountDownLatch(3);
+      final var task = scheduler.schedule(() -> {
+        runs.incrementAndGet();
+        started.countDown();
+      }, 0L, 5L, false);
+      new Assertion<>(
+        "Task didn't run.",
+        started.await(5L, TimeUnit.SECONDS),
+        new IsEqual<>(true)
+      ).affirm();
+      task.cancel();
+      final var drained = new CountDownLatch(1);
+      scheduler.schedule(drained::countDown, 0L, 5L, false);
+      new Assertion<>(
+        "Worker didn't drain.",
+        drained.await(5L, TimeUnit.SECONDS),
+        new IsEqual<>(true)
+      ).affirm();
+      final var cancelled = runs.get();
+      final var periods = new CountDownLatch(5);
+      scheduler.schedule(periods::countDown, 0L, 5L, false);
+      new Assertion<>(
+        "Scheduler stopped running.",
+        periods.await(5L, TimeUnit.SECONDS),
+        new IsEqual<>(true)
+      ).affirm();
+      new Assertion<>(
+        "Cancelled task kept running.",
+        runs.get(),
+        new IsEqual<>(cancelled)
+      ).affirm();
+    }
+  }
+
+  @Test
+  void schedule() throws InterruptedException {
+    try (final var scheduler = new BoardScheduler(5L, 8, 1)) {
+      final var latch = new CountDownLatch(3);
+      scheduler.schedule(latch::countDown, 10L, 15L, false);
+      new Assertion<>(
+        "Periodic task didn't run.",
+        latch.await(5L, TimeUnit.SECONDS),
+        new IsEqual<>(true)
+      ).affirm();
+    }
+  }
+}
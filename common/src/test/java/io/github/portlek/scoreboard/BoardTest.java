@@ -29,10 +29,16 @@ import io.github.portlek.scoreboard.line.Line;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
+import org.hamcrest.core.IsEqual;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
+import org.llorllale.cactoos.matchers.Assertion;
 
 final class BoardTest {
 
@@ -45,7 +51,73 @@ final class BoardTest {
       .start();
   }
 
-  private static final class Sender implements ScoreboardSender<User> {
+  @Test
+  void sharded() {
+    final var observers = IntStream.range(0, 100)
+      .mapToObj(index -> new User("observer-" + index))
+      .collect(Collectors.toSet());
+    final var sent = ConcurrentHashMap.<User>newKeySet();
+    final var sends = new AtomicInteger();
+    final var board = Board.newBuilder(User.class)
+      .setScoreboardSender(new Sender() {
+        @Override
+        public void send(@NotNull final Board<User> board, @NotNull final Collection<User> observers,
+                         @NotNull final List<Line<User>> lines) {
+          sends.incrementAndGet();
+          sent.addAll(observers);
+        }
+      })
+      .setStaticObservers(observers)
+      .setShards(4)
+      .setShardThreshold(10)
+      .build();
+    board.send();
+    new Assertion<>(
+      "Couldn't send the board to every shard.",
+      sent,
+      new IsEqual<>(observers)
+    ).affirm();
+    new Assertion<>(
+      "Couldn't partition the observers.",
+      sends.get(),
+      new IsEqual<>(4)
+    ).affirm();
+  }
+
+  @Test
+  void virtualThreads() {
+    final var observers = IntStream.range(0, 50)
+      .mapToObj(index -> new User("observer-" + index))
+      .collect(Collectors.toSet());
+    final var sent = new ConcurrentHashMap<User, AtomicInteger>();
+    final var sends = new AtomicInteger();
+    final var board = Board.newBuilder(User.class)
+      .setScoreboardSender(new Sender() {
+        @Override
+        public void send(@NotNull final Board<User> board, @NotNull final Collection<User> observers,
+                         @NotNull final List<Line<User>> lines) {
+          sends.incrementAndGet();
+          observers.forEach(observer -> sent.computeIfAbsent(observer, key -> new AtomicInteger()).incrementAndGet());
+        }
+      })
+      .setStaticObservers(observers)
+      .setVirtualThreads(true)
+      .build();
+    board.send();
+    board.send();
+    new Assertion<>(
+      "Couldn't send the board to every observer exactly once per tick.",
+      sent.values().stream().allMatch(count -> count.get() == 2) && sent.keySet().equals(observers),
+      new IsEqual<>(true)
+    ).affirm();
+    new Assertion<>(
+      "Couldn't send each observer on its own virtual thread or fall back to a single send.",
+      sends.get(),
+      new IsEqual<>(BoardExecutors.isVirtualThreadsSupported() ? observers.size() * 2 : 2)
+    ).affirm();
+  }
+
+  private static class Sender implements ScoreboardSender<User> {
 
     @Override
     public void close() {
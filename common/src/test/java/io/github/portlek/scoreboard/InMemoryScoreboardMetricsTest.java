@@ -0,0 +1,107 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.scoreboard;
+
+import io.github.portlek.scoreboard.line.Line;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import org.hamcrest.core.IsEqual;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+
+final class InMemoryScoreboardMetricsTest {
+
+  @Test
+  void board() {
+    final var metrics = InMemoryScoreboardMetrics.create();
+    final var global = Line.<String>global(() -> "online");
+    final var board = Board.newBuilder(String.class)
+      .setMetrics(metrics)
+      .setStaticObservers(Set.of("observer-1", "observer-2", "observer-3"))
+      .setScoreboardSender(new ScoreboardSender<>() {
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void send(@NotNull final Board<String> board, @NotNull final Collection<String> observers,
+                         @NotNull final List<Line<String>> lines) {
+          observers.forEach(observer -> board.getRenderer().render(global, observer));
+        }
+      })
+      .build();
+    board.send();
+    board.send();
+    final var snapshot = metrics.snapshot();
+    new Assertion<>(
+      "Couldn't record the ticks.",
+      snapshot.getTicks(),
+      new IsEqual<>(2L)
+    ).affirm();
+    new Assertion<>(
+      "Couldn't record the observers per tick.",
+      snapshot.getObservers().getMaximum(),
+      new IsEqual<>(3L)
+    ).affirm();
+    new Assertion<>(
+      "Couldn't record the line evaluations.",
+      snapshot.getLinesEvaluated(),
+      new IsEqual<>(2L)
+    ).affirm();
+    new Assertion<>(
+      "Couldn't record the cache hits.",
+      snapshot.getCacheHits(),
+      new IsEqual<>(4L)
+    ).affirm();
+  }
+
+  @Test
+  void histogram() {
+    final var metrics = InMemoryScoreboardMetrics.create();
+    for (var value = 1L; value <= 1000L; value++) {
+      metrics.recordTick(value * 1000L);
+    }
+    final var duration = metrics.snapshot().getTickDuration();
+    new Assertion<>(
+      "Median of the histogram isn't within its precision.",
+      Math.abs(duration.getValueAtPercentile(50.0d) - 500_000L) <= 500_000L / 16L,
+      new IsEqual<>(true)
+    ).affirm();
+    new Assertion<>(
+      "Maximum of the histogram isn't exact.",
+      duration.getValueAtPercentile(100.0d),
+      new IsEqual<>(1_000_000L)
+    ).affirm();
+    metrics.reset();
+    new Assertion<>(
+      "Couldn't reset the histogram.",
+      metrics.snapshot().getTickDuration().getCount(),
+      new IsEqual<>(0L)
+    ).affirm();
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.scoreboard;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.collection.IsEmptyCollection;
+import org.hamcrest.collection.IsIterableContainingInAnyOrder;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+
+final class ObserverTrackerTest {
+
+  @Test
+  void filtersOnlyNewObservers() {
+    final var calls = new AtomicInteger();
+    final List<String> online = new ArrayList<>(List.of("observer-1", "observer-2"));
+    final var board = Board.newBuilder(String.class)
+      .addDynamicObserverList(() -> online)
+      .addFilters(observer -> calls.incrementAndGet() > 0)
+      .setFilterRefreshInterval(0L)
+      .build();
+    final var tracker = new ObserverTracker<>(board);
+    tracker.update(Set.of());
+    tracker.update(Set.of());
+    new Assertion<>(
+      "Filters ran for the observers which were already resolved.",
+      calls.get(),
+      new IsEqual<>(2)
+    ).affirm();
+    online.add("observer-3");
+    tracker.invalidate("observer-3");
+    tracker.update(Set.of());
+    new Assertion<>(
+      "Filters didn't run only for the new observer.",
+      calls.get(),
+      new IsEqual<>(3)
+    ).affirm();
+    new Assertion<>(
+      "Couldn't compute the joined observers.",
+      tracker.getJoined(),
+      new IsIterableContainingInAnyOrder<>(List.of(new IsEqual<>("observer-3")))
+    ).affirm();
+    tracker.update(Set.of());
+    new Assertion<>(
+      "Filters ran again for the observer which was invalidated before it was tracked.",
+      calls.get(),
+      new IsEqual<>(3)
+    ).affirm();
+  }
+
+  @Test
+  void invalidate() {
+    final Collection<String> rejected = new ArrayList<>();
+    final var board = Board.newBuilder(String.class)
+      .addStaticObservers("observer-1", "observer-2")
+      .addFilters(observer -> !rejected.contains(observer))
+      .setFilterRefreshInterval(0L)
+      .build();
+    final var tracker = new ObserverTracker<>(board);
+    tracker.update(board.getStaticObservers());
+    rejected.add("observer-1");
+    tracker.update(board.getStaticObservers());
+    new Assertion<>(
+      "Cached filter result was not used.",
+      tracker.getLeft(),
+      new IsEmptyCollection<>()
+    ).affirm();
+    tracker.invalidate("observer-1");
+    tracker.update(board.getStaticObservers());
+    new Assertion<>(
+      "Invalidated observer didn't leave.",
+      tracker.getLeft(),
+      new IsIterableContainingInAnyOrder<>(List.of(new IsEqual<>("observer-1")))
+    ).affirm();
+    new Assertion<>(
+      "Couldn't resolve the observers.",
+      tracker.getObservers(),
+      new IsIterableContainingInAnyOrder<>(List.of(new IsEqual<>("observer-2")))
+    ).affirm();
+  }
+
+  @Test
+  void leave() {
+    final List<String> online = new ArrayList<>(List.of("observer-1", "observer-2"));
+    final var board = Board.newBuilder(String.class)
+      .addDynamicObserverList(() -> online)
+      .build();
+    final var tracker = new ObserverTracker<>(board);
+    tracker.update(Set.of());
+    online.remove("observer-2");
+    tracker.update(Set.of());
+    new Assertion<>(
+      "Couldn't compute the left observers.",
+      tracker.getLeft(),
+      new IsIterableContainingInAnyOrder<>(List.of(new IsEqual<>("observer-2")))
+    ).affirm();
+  }
+}
@@ -25,9 +25,18 @@
 
 package io.github.portlek.scoreboard.line;
 
+import io.github.portlek.scoreboard.line.lines.FramedLine;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
 import org.hamcrest.core.IsEqual;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.junit.jupiter.api.Test;
 import org.llorllale.cactoos.matchers.Assertion;
 
@@ -39,6 +48,128 @@ final class LineTest {
       .close();
   }
 
+  @Test
+  void animated() {
+    final var line = AnimatedLine.<String>framed("a", "b", "c");
+    new Assertion<>(
+      "Couldn't derive the frame from the tick.",
+      line.apply("observer-1", 4L),
+      new IsEqual<>("b")
+    ).affirm();
+    new Assertion<>(
+      "Couldn't wrap the negative ticks.",
+      line.apply("observer-1", -1L),
+      new IsEqual<>("c")
+    ).affirm();
+    final var phased = line.withPhase(observer -> observer.length());
+    new Assertion<>(
+      "Couldn't shift the frame by the phase of the observer.",
+      phased.apply("observer", 0L) + phased.apply("observer-1", 0L),
+      new IsEqual<>("cb")
+    ).affirm();
+    new Assertion<>(
+      "Couldn't keep the phase of the observer on the next tick.",
+      phased.apply("observer", 1L),
+      new IsEqual<>("a")
+    ).affirm();
+  }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  void stepped() {
+    final var line = (FramedLine<String>) AnimatedLine.<String>framed("a", "b", "c");
+    new Assertion<>(
+      "Couldn't step the previous frame before the animation started.",
+      line.getPrevious("observer-1") + line.getCurrentFrame(),
+      new IsEqual<>("c2")
+    ).affirm();
+    new Assertion<>(
+      "Couldn't step the next frames.",
+      line.getNext("observer-1") + line.getNext("observer-1") + line.getCurrentFrame(),
+      new IsEqual<>("ab1")
+    ).affirm();
+  }
+
+  @Test
+  void async() {
+    final var future = new CompletableFuture<String>();
+    final var calls = new AtomicInteger();
+    final var line = Line.<String>async(observer -> {
+      calls.incrementAndGet();
+      return future;
+    }, "loading", Duration.ofMinutes(1L));
+    line.apply("observer-1");
+    new Assertion<>(
+      "Couldn't return the placeholder.",
+      line.apply("observer-1"),
+      new IsEqual<>("loading")
+    ).affirm();
+    future.complete("loaded");
+    new Assertion<>(
+      "Couldn't swap the completed value.",
+      line.apply("observer-1"),
+      new IsEqual<>("loaded")
+    ).affirm();
+    new Assertion<>(
+      "Started more than one refresh.",
+      calls.get(),
+      new IsEqual<>(1)
+    ).affirm();
+  }
+
+  @Test
+  void cached() {
+    final var calls = new AtomicInteger();
+    final var line = Line.cached(Line.<String>dynamic(observer -> observer + calls.incrementAndGet()),
+      Duration.ofMinutes(1L));
+    line.apply("observer-");
+    new Assertion<>(
+      "Couldn't cache the line.",
+      line.apply("observer-"),
+      new IsEqual<>("observer-1")
+    ).affirm();
+    line.leave("observer-");
+    new Assertion<>(
+      "Couldn't evict the observer which left.",
+      line.apply("observer-"),
+      new IsEqual<>("observer-2")
+    ).affirm();
+  }
+
+  @Test
+  void cachedMaximumSize() {
+    final var line = Line.cached(Line.<String>dynamic(Function.identity()), Duration.ofMinutes(1L), 2);
+    line.apply("observer-1");
+    line.apply("observer-2");
+    line.apply("observer-3");
+    new Assertion<>(
+      "Couldn't bound the cache.",
+      line.getSize(),
+      new IsEqual<>(2)
+    ).affirm();
+  }
+
+  @Test
+  void layout() {
+    final var layout = LineLayout.create(new Color('a'), 8);
+    final var line = "&bhello world";
+    new Assertion<>(
+      "Couldn't split the prefix.",
+      layout.apply(line).getPrefix(),
+      new IsEqual<>("&bhello")
+    ).affirm();
+    new Assertion<>(
+      "Suffix didn't carry the last colors of the prefix.",
+      layout.apply(line).getSuffix("&f"),
+      new IsEqual<>("&b worl")
+    ).affirm();
+    new Assertion<>(
+      "Layout wasn't cached.",
+      layout.apply(line) == layout.apply(line),
+      new IsEqual<>(true)
+    ).affirm();
+  }
+
   @Test
   void line() {
     final var printed = new AtomicReference<String>();
@@ -51,6 +182,71 @@ final class LineTest {
     ).affirm();
   }
 
+  @Test
+  void scrolled() {
+    final var line = (FramedLine<String>) AnimatedLine.<String>scrolled("ab&ccd", 0, 4, new Color('f'));
+    final var frames = new StringBuilder();
+    for (var tick = 0L; tick < line.getTotalLength(); tick++) {
+      frames.append(line.apply("observer-1", tick)).append('|');
+    }
+    new Assertion<>(
+      "Couldn't resolve the colors of the frames.",
+      frames.toString(),
+      new IsEqual<>("&ccd|&cda|&cab|&cb |&c c|")
+    ).affirm();
+    new Assertion<>(
+      "Couldn't wrap the frames.",
+      line.apply("observer-1", line.getTotalLength()),
+      new IsEqual<>(line.apply("observer-1", 0L))
+    ).affirm();
+  }
+
+  @Test
+  void compact() {
+    final var context = "scoreboard ".repeat(40);
+    final var highlighted = (FramedLine<String>) AnimatedLine.<String>highlighted(context, "<", ">");
+    new Assertion<>(
+      "Couldn't synthesize the highlighted frame.",
+      highlighted.getFrame(12),
+      new IsEqual<>(">scoreboard s<c>" + context.substring(13))
+    ).affirm();
+    final var scrolled = (FramedLine<String>) AnimatedLine.<String>scrolled(context, 0, 32, new Color('f'));
+    new Assertion<>(
+      "Couldn't synthesize the scrolled frame.",
+      scrolled.getFrame(3) + scrolled.getTotalLength(),
+      new IsEqual<>("&f" + context.substring(3, 33) + context.length())
+    ).affirm();
+    highlighted.setFrame(0, "first");
+    highlighted.addFrame("last");
+    new Assertion<>(
+      "Couldn't modify the compact frames.",
+      highlighted.getFrame(0) + highlighted.getFrame(highlighted.getTotalLength() - 1),
+      new IsEqual<>("firstlast")
+    ).affirm();
+  }
+
+  @Test
+  void compactWindows() throws ReflectiveOperationException {
+    final var scrolled = AnimatedLine.<String>scrolled("scoreboard ".repeat(40), 0, 32, new Color('f'));
+    final var frames = FramedLine.class.getDeclaredField("frames");
+    frames.setAccessible(true);
+    final var compact = frames.get(scrolled);
+    final var synthesizer = compact.getClass().getDeclaredField("synthesizer");
+    synthesizer.setAccessible(true);
+    final var function = synthesizer.get(compact);
+    var windows = false;
+    for (final var field : function.getClass().getDeclaredFields()) {
+      field.setAccessible(true);
+      final var value = field.get(function);
+      windows |= value instanceof List<?> && !((List<?>) value).isEmpty() && ((List<?>) value).get(0) instanceof String;
+    }
+    new Assertion<>(
+      "Compact frames kept the windows.",
+      windows,
+      new IsEqual<>(false)
+    ).affirm();
+  }
+
   @Test
   void simple() {
     final var printed = new AtomicReference<String>();
@@ -62,4 +258,127 @@ final class LineTest {
       new IsEqual<>("observer-1")
     ).affirm();
   }
+
+  @Test
+  void template() {
+    final var kills = new AtomicInteger(1);
+    final var line = Line.<String>template("&aKills: {kills} &7| {name}", Map.of(
+      "kills", observer -> String.valueOf(kills.get()),
+      "name", Function.identity()));
+    final var first = line.apply("observer-1");
+    new Assertion<>(
+      "Couldn't render the template.",
+      first,
+      new IsEqual<>("&aKills: 1 &7| observer-1")
+    ).affirm();
+    new Assertion<>(
+      "Template was concatenated again without a change.",
+      line.apply("observer-1") == first,
+      new IsEqual<>(true)
+    ).affirm();
+    kills.set(2);
+    new Assertion<>(
+      "Template wasn't rendered again after a change.",
+      line.apply("observer-1"),
+      new IsEqual<>("&aKills: 2 &7| observer-1")
+    ).affirm();
+  }
+
+  @Test
+  void compiled() {
+    final var line = LineCompiler.<String>compile("{name}: \u0001{kills}{kills}", Map.of(
+      "kills", observer -> "7",
+      "name", Function.identity()));
+    new Assertion<>(
+      "Couldn't compile the template.",
+      line.apply("observer-1"),
+      new IsEqual<>("observer-1: \u000177")
+    ).affirm();
+    new Assertion<>(
+      "Couldn't define the compiled line as a hidden class.",
+      line instanceof LineCompiler.Compiled<?> && line.getScope() == LineScope.OBSERVER,
+      new IsEqual<>(Runtime.version().feature() >= 16)
+    ).affirm();
+    new Assertion<>(
+      "Couldn't compile the template which has no placeholders.",
+      LineCompiler.<String>compile("static", Map.of()).apply("observer-1"),
+      new IsEqual<>("static")
+    ).affirm();
+  }
+
+  @Test
+  void cachedColor() {
+    final var translating = new Translating();
+    final var color = LineColor.cached(translating);
+    color.format("&aKills: 1");
+    new Assertion<>(
+      "Couldn't translate the text.",
+      color.format("&aKills: 1"),
+      new IsEqual<>("$aKills: 1")
+    ).affirm();
+    color.format("Kills: 1");
+    new Assertion<>(
+      "Cached color translated a text again.",
+      translating.calls.get(),
+      new IsEqual<>(1)
+    ).affirm();
+  }
+
+  @RequiredArgsConstructor
+  private static final class Color implements LineColor {
+
+    private final char code;
+
+    @NotNull
+    @Override
+    public String format(@NotNull final String text) {
+      return text;
+    }
+
+    @Nullable
+    @Override
+    public LineColor getByChar(final char charAt) {
+      return charAt >= 'a' && charAt <= 'f' ? new Color(charAt) : null;
+    }
+
+    @Override
+    public char getColorChar() {
+      return '&';
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+      return "&" + this.code;
+    }
+  }
+
+  private static final class Translating implements LineColor {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @NotNull
+    @Override
+    public String format(@NotNull final String text) {
+      this.calls.incrementAndGet();
+      return text.replace('&', '$');
+    }
+
+    @Nullable
+    @Override
+    public LineColor getByChar(final char charAt) {
+      return null;
+    }
+
+    @Override
+    public char getColorChar() {
+      return '$';
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+      return "";
+    }
+  }
 }
@@ -0,0 +1,134 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package io.github.portlek.scoreboard.bukkit;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a class that represents the main thread stage of the Bukkit scoreboards.
+ * <p>
+ * the scoreboards are rendered asynchronously and queued here, a repeating task drains the queue on the main thread
+ * until the budget of the server tick is spent, and the rest of the queue is applied on the next server ticks.
+ */
+final class BukkitApplyQueue implements Runnable, AutoCloseable {
+
+  /**
+   * the default budget in milliseconds.
+   */
+  static final long DEFAULT_BUDGET = 5L;
+
+  /**
+   * the budget in nanoseconds.
+   */
+  @Getter
+  private final long budget;
+
+  /**
+   * the plugin.
+   */
+  @NotNull
+  private final Plugin plugin;
+
+  /**
+   * the scoreboards to apply.
+   */
+  private final Queue<BukkitPlayerScoreboard> queue = new ConcurrentLinkedQueue<>();
+
+  /**
+   * the task.
+   */
+  @Nullable
+  private BukkitTask task;
+
+  /**
+   * ctor.
+   *
+   * @param plugin the plugin.
+   * @param budget the budget in milliseconds.
+   */
+  BukkitApplyQueue(@NotNull final Plugin plugin, final long budget) {
+    if (budget <= 0L) {
+      throw new IllegalArgumentException("The budget must be positive!");
+    }
+    this.plugin = plugin;
+    this.budget = TimeUnit.MILLISECONDS.toNanos(budget);
+  }
+
+  @Override
+  public void close() {
+    if (this.task != null) {
+      this.task.cancel();
+      this.task = null;
+    }
+    this.queue.clear();
+  }
+
+  /**
+   * applies the queued scoreboards until the budget is spent.
+   * <p>
+   * at least one scoreboard is applied in each server tick, so the queue always makes progress.
+   */
+  @Override
+  public void run() {
+    final var start = System.nanoTime();
+    do {
+      final var scoreboard = this.queue.poll();
+      if (scoreboard == null) {
+        return;
+      }
+      try {
+        scoreboard.apply();
+      } catch (final Exception e) {
+        this.plugin.getLogger().log(Level.SEVERE, String.format("There was an error updating %s's scoreboard.",
+          scoreboard.getUniqueId()), e);
+      }
+    } while (System.nanoTime() - start < this.budget);
+  }
+
+  /**
+   * queues the scoreboard to apply.
+   *
+   * @param scoreboard the scoreboard to queue.
+   */
+  void offer(@NotNull final BukkitPlayerScoreboard scoreboard) {
+    this.queue.offer(scoreboard);
+  }
+
+  /**
+   * starts the repeating task.
+   */
+  void start() {
+    this.task = Bukkit.getScheduler().runTaskTimer(this.plugin, this, 1L, 1L);
+  }
+}
@@ -60,6 +60,12 @@ public final class BukkitLineColor implements LineColor {
     return ChatColor.translateAlternateColorCodes('&', text);
   }
 
+  @NotNull
+  @Override
+  public String getLastColors(@NotNull final String text) {
+    return ChatColor.getLastColors(text);
+  }
+
   @Nullable
   @Override
   public LineColor getByChar(final char charAt) {
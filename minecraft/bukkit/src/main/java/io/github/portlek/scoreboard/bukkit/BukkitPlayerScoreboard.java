@@ -22,33 +22,26 @@
  * SOFTWARE.
  *
  */
-
 package io.github.portlek.scoreboard.bukkit;
 
 import io.github.portlek.scoreboard.Board;
 import io.github.portlek.scoreboard.line.Line;
+import io.github.portlek.scoreboard.line.LineColor;
 import java.io.Closeable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.stream.IntStream;
+import java.util.concurrent.atomic.AtomicReference;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.Synchronized;
 import org.bukkit.Bukkit;
-import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
-import org.bukkit.scoreboard.DisplaySlot;
-import org.bukkit.scoreboard.Objective;
-import org.bukkit.scoreboard.Scoreboard;
-import org.bukkit.scoreboard.Team;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -58,30 +51,43 @@ import org.jetbrains.annotations.Nullable;
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public final class BukkitPlayerScoreboard implements Closeable {
 
+  /**
+   * the color.
+   */
+  private static final LineColor COLOR = LineColor.cached(BukkitLineColor.create());
+
   /**
    * the board.
    */
   @NotNull
+  @Getter
   private final Board<Player> board;
 
   /**
-   * the entries.
+   * the closed.
    */
-  @NotNull
-  private final List<Entry> entries = new ArrayList<>();
+  private final AtomicBoolean closed = new AtomicBoolean();
 
   /**
-   * the identifiers.
+   * the invalidated.
    */
-  @NotNull
-  @Getter
-  private final List<String> identifiers = new ArrayList<>();
+  private final AtomicBoolean invalidated = new AtomicBoolean();
 
   /**
-   * the lines.
+   * the lines, an immutable snapshot which is replaced as a whole when the lines are updated.
    */
-  @NotNull
-  private final List<Line<Player>> lines;
+  private final AtomicReference<List<Line<Player>>> lines = new AtomicReference<>(List.of());
+
+  /**
+   * the pending render which waits to be applied.
+   */
+  private final AtomicReference<BukkitSidebar.Rendered> pending = new AtomicReference<>();
+
+  /**
+   * the cached player.
+   */
+  @Nullable
+  private volatile Player player;
 
   /**
    * the plugin.
@@ -89,11 +95,43 @@ public final class BukkitPlayerScoreboard implements Closeable {
   @NotNull
   private final Plugin plugin;
 
+  /**
+   * the queue.
+   */
+  @NotNull
+  private final BukkitApplyQueue queue;
+
+  /**
+   * the regroup, which queues the next render even if it's unchanged, so the shared scoreboards regroup the player.
+   */
+  private final AtomicBoolean regroup = new AtomicBoolean();
+
+  /**
+   * the last render.
+   */
+  @Nullable
+  @Getter(AccessLevel.PACKAGE)
+  private volatile BukkitSidebar.Rendered rendered;
+
   /**
    * the setup.
    */
   private final AtomicBoolean setup = new AtomicBoolean();
 
+  /**
+   * the shared scoreboards, {@code null} if the shared mode is disabled.
+   */
+  @Nullable
+  private final BukkitSharedScoreboards shared;
+
+  /**
+   * the sidebar which the player sees, only accessed by the main thread.
+   */
+  @Nullable
+  @Getter(AccessLevel.PACKAGE)
+  @Setter(AccessLevel.PACKAGE)
+  private BukkitSidebar sidebar;
+
   /**
    * the unique id.
    */
@@ -119,32 +157,40 @@ public final class BukkitPlayerScoreboard implements Closeable {
    * @param board the board to create.
    * @param lines the lines to create.
    * @param plugin the plugin to create.
+   * @param queue the queue to create.
+   * @param shared the shared scoreboards to create.
    * @param uniqueId the unique id to create.
    *
    * @return a newly created and initialized player scoreboard instance.
    */
   @NotNull
   static BukkitPlayerScoreboard create(@NotNull final Board<Player> board, @NotNull final List<Line<Player>> lines,
-                                       @NotNull final Plugin plugin, @NotNull final UUID uniqueId) {
-    final var scoreboard = new BukkitPlayerScoreboard(board, lines, plugin, uniqueId);
+                                       @NotNull final Plugin plugin, @NotNull final BukkitApplyQueue queue,
+                                       @Nullable final BukkitSharedScoreboards shared,
+                                       @NotNull final UUID uniqueId) {
+    final var scoreboard = new BukkitPlayerScoreboard(board, plugin, queue, shared, uniqueId);
+    scoreboard.lines.set(List.copyOf(lines));
     scoreboard.setup();
     return scoreboard;
   }
 
   /**
-   * gets a random chat color.
-   *
-   * @param position the position to get.
-   *
-   * @return random color.
+   * closes the scoreboard.
+   * <p>
+   * the shared scoreboards are only accessed by the main thread, so the player leaves them on the next server tick if
+   * the scoreboard is closed on another thread while the plugin is enabled.
    */
-  @NotNull
-  private static String getRandomChatColor(final int position) {
-    return ChatColor.values()[position].toString();
-  }
-
   @Override
   public void close() {
+    this.closed.set(true);
+    final var current = this.shared;
+    if (current != null) {
+      if (Bukkit.isPrimaryThread() || !this.plugin.isEnabled()) {
+        current.leave(this);
+      } else {
+        Bukkit.getScheduler().runTask(this.plugin, () -> current.leave(this));
+      }
+    }
     final var player = Bukkit.getPlayer(this.uniqueId);
     if (player == null) {
       return;
@@ -153,164 +199,185 @@ public final class BukkitPlayerScoreboard implements Closeable {
   }
 
   /**
-   * ticks.
+   * renders the lines asynchronously and queues them to apply on the main thread.
+   * <p>
+   * the scoreboard is queued only if the rendered lines are changed or it should be regrouped, and it's not queued
+   * already, the queued render is replaced with the newer one instead.
    */
   @Synchronized("setup")
   void tick() {
-    if (!this.setup.get()) {
+    if (!this.setup.get() || this.closed.get()) {
       return;
     }
-    final var player = Bukkit.getPlayer(this.uniqueId);
+    final var player = this.getPlayer();
     if (player == null) {
       return;
     }
-    final var optionalScoreboard = this.getScoreboard();
-    if (optionalScoreboard.isEmpty()) {
-      return;
+    final var renderer = this.board.getRenderer();
+    final var title = renderer.render(this.board.getTitleLine(), player, BukkitPlayerScoreboard.COLOR);
+    final List<Line<Player>> newLines;
+    final var current = this.lines.get();
+    if (current.size() > BukkitSidebar.MAX_LINES) {
+      newLines = new ArrayList<>(current.subList(0, BukkitSidebar.MAX_LINES));
+    } else {
+      newLines = new ArrayList<>(current);
+    }
+    if (!this.board.getType().isDescending()) {
+      Collections.reverse(newLines);
     }
-    final var optionalObjective = this.getObjective();
-    if (optionalObjective.isEmpty()) {
+    final var texts = new ArrayList<String>(newLines.size());
+    newLines.forEach(line -> texts.add(renderer.render(line, player, BukkitPlayerScoreboard.COLOR)));
+    final var render = new BukkitSidebar.Rendered(texts, renderer.getTick(), title);
+    final var unchanged = render.equals(this.rendered);
+    this.rendered = render;
+    if (unchanged && !this.regroup.getAndSet(false)) {
       return;
     }
-    final var objective = optionalObjective.get();
-    final var title = ChatColor.translateAlternateColorCodes('&', this.board.getTitleLine().apply(player));
-    final var scoreboard = optionalScoreboard.get();
-    if (!objective.getDisplayName().equals(title)) {
-      objective.setDisplayName(title);
+    if (this.pending.getAndSet(render) == null) {
+      this.queue.offer(this);
     }
-    if (this.lines.isEmpty()) {
-      this.entries.forEach(Entry::remove);
-      this.entries.clear();
-      if (player.getScoreboard() != scoreboard) {
-        player.setScoreboard(scoreboard);
-      }
+  }
+
+  /**
+   * applies the pending render to the Bukkit scoreboard on the main thread.
+   */
+  void apply() {
+    final var render = this.pending.getAndSet(null);
+    if (render == null || this.closed.get()) {
       return;
     }
-    final List<Line<Player>> newLines;
-    if (this.lines.size() > 15) {
-      newLines = this.lines.subList(0, 15);
-    } else {
-      newLines = new ArrayList<>(this.lines);
-    }
-    final var boardType = this.board.getType();
-    if (!boardType.isDescending()) {
-      Collections.reverse(newLines);
+    if (this.invalidated.getAndSet(false)) {
+      this.player = null;
+      if (this.sidebar != null) {
+        this.sidebar.invalidate();
+      }
     }
-    if (this.entries.size() > newLines.size()) {
-      IntStream.range(newLines.size(), this.entries.size())
-        .mapToObj(this::getEntry)
-        .filter(Objects::nonNull)
-        .forEach(Entry::remove);
+    final var player = this.getPlayer();
+    if (player == null) {
+      this.rendered = null;
+      return;
     }
-    var cache = boardType.getStartNumber();
-    for (var index = 0; index < newLines.size(); index++) {
-      var entry = this.getEntry(index);
-      final var line = ChatColor.translateAlternateColorCodes('&', newLines.get(index).apply(player));
-      if (entry == null) {
-        entry = new Entry(this.generateIdentifier(index), this, line);
-      } else {
-        entry.setLine(line);
+    if (this.shared != null) {
+      if (!this.shared.apply(this, player, render)) {
+        this.rendered = null;
       }
-      entry.setup();
-      entry.send(boardType.isDescending() ? cache-- : cache++);
+      return;
+    }
+    final var current = this.resolve(player);
+    if (current == null) {
+      this.rendered = null;
+      return;
     }
-    if (player.getScoreboard() != scoreboard) {
-      player.setScoreboard(scoreboard);
+    current.apply(render, this.board.getType(), this.board.getMetrics());
+    if (player.getScoreboard() != current.getScoreboard()) {
+      player.setScoreboard(current.getScoreboard());
     }
   }
 
   /**
-   * updates {@link #lines}.
+   * obtains the player.
    *
-   * @param lines the lines to update.
+   * @return player.
    */
-  @Synchronized("lines")
-  void update(@NotNull final List<Line<Player>> lines) {
-    IntStream.range(0, lines.size())
-      .forEach(index -> {
-        final var line = lines.get(index);
-        if (line.isUpdate()) {
-          this.lines.set(index, line);
-        }
-      });
+  @Nullable
+  Player getPlayer() {
+    var current = this.player;
+    if (current == null) {
+      current = Bukkit.getPlayer(this.uniqueId);
+      this.player = current;
+    }
+    return current;
   }
 
   /**
-   * generates an identifier.
-   *
-   * @param position the position to generate.
-   *
-   * @return a newly generated identifier.
+   * invalidates the cached player, scoreboard and objective, so they are resolved again on the next apply.
    */
-  @NotNull
-  private String generateIdentifier(final int position) {
-    var identifier = BukkitPlayerScoreboard.getRandomChatColor(position) + ChatColor.WHITE;
-    while (this.identifiers.contains(identifier)) {
-      identifier = identifier + BukkitPlayerScoreboard.getRandomChatColor(position) + ChatColor.WHITE;
-    }
-    if (identifier.length() > 64) {
-      return this.generateIdentifier(position);
-    }
-    this.identifiers.add(identifier);
-    return identifier;
+  void invalidate() {
+    this.invalidated.set(true);
   }
 
   /**
-   * gets the entry at the position.
+   * checks if the scoreboard is closed.
    *
-   * @param position the position to get.
+   * @return {@code true} if the scoreboard is closed.
+   */
+  boolean isClosed() {
+    return this.closed.get();
+  }
+
+  /**
+   * checks if the scoreboard is set up, so it's ticked.
    *
-   * @return entry at the position.
+   * @return {@code true} if the scoreboard is set up.
    */
-  @Nullable
-  private Entry getEntry(final int position) {
-    return position >= this.entries.size() ? null : this.entries.get(position);
+  boolean isSetup() {
+    return this.setup.get();
   }
 
   /**
-   * obtains the objective.
+   * queues the next render of the player even if it's unchanged, so its shared scoreboard is checked again.
+   */
+  void regroup() {
+    this.regroup.set(true);
+  }
+
+  /**
+   * updates {@link #lines}.
+   * <p>
+   * the lines which should be updated replace the snapshot with a compare and set, so the boards which send to the
+   * player concurrently and the ticking thread never block each other, and the snapshot is kept if nothing changes.
    *
-   * @return objective.
+   * @param lines the lines to update.
    */
-  @NotNull
-  private Optional<Objective> getObjective() {
-    final var player = Bukkit.getPlayer(this.uniqueId);
-    if (player == null) {
-      return Optional.empty();
-    }
-    final var optionalScoreboard = this.getScoreboard();
-    if (optionalScoreboard.isEmpty()) {
-      return Optional.empty();
-    }
-    final var scoreboard = optionalScoreboard.get();
-    if (scoreboard.getObjective("SBoard") == null) {
-      final var objective = scoreboard.registerNewObjective("SBoard", "dummy",
-        this.board.getTitleLine().apply(player));
-      objective.setDisplaySlot(DisplaySlot.SIDEBAR);
-      return Optional.of(objective);
+  void update(@NotNull final List<Line<Player>> lines) {
+    while (true) {
+      final var current = this.lines.get();
+      List<Line<Player>> next = null;
+      for (var index = 0; index < lines.size(); index++) {
+        final var line = lines.get(index);
+        if (!line.isUpdate() || index < current.size() && current.get(index) == line) {
+          continue;
+        }
+        if (next == null) {
+          next = new ArrayList<>(current);
+        }
+        if (index < next.size()) {
+          next.set(index, line);
+        } else {
+          next.add(line);
+        }
+      }
+      if (next == null || this.lines.compareAndSet(current, List.copyOf(next))) {
+        return;
+      }
     }
-    return Optional.ofNullable(scoreboard.getObjective("SBoard"));
   }
 
   /**
-   * obtains the scoreboard.
+   * resolves the private sidebar of the player.
+   * <p>
+   * the sidebar is resolved again only if the player's scoreboard is swapped.
    *
-   * @return scoreboard.
+   * @param player the player to resolve.
+   *
+   * @return private sidebar of the player.
    */
-  @NotNull
-  private Optional<Scoreboard> getScoreboard() {
-    final var player = Bukkit.getPlayer(this.uniqueId);
-    if (player == null) {
-      return Optional.empty();
+  @Nullable
+  private BukkitSidebar resolve(@NotNull final Player player) {
+    final var current = player.getScoreboard();
+    if (this.sidebar != null && this.sidebar.getScoreboard() == current) {
+      return this.sidebar;
     }
     final var scoreboardManager = Bukkit.getScoreboardManager();
     if (scoreboardManager == null) {
-      return Optional.empty();
+      return null;
     }
-    if (player.getScoreboard() != scoreboardManager.getMainScoreboard()) {
-      return Optional.of(player.getScoreboard());
+    if (current != scoreboardManager.getMainScoreboard()) {
+      this.sidebar = new BukkitSidebar(current);
+    } else if (this.sidebar == null) {
+      this.sidebar = new BukkitSidebar(scoreboardManager.getNewScoreboard());
     }
-    return Optional.of(scoreboardManager.getNewScoreboard());
+    return this.sidebar;
   }
 
   /**
@@ -318,113 +385,14 @@ public final class BukkitPlayerScoreboard implements Closeable {
    */
   private void setup() {
     Bukkit.getScheduler().runTask(this.plugin, () -> {
-      final var player = Bukkit.getPlayer(this.uniqueId);
-      if (player != null) {
-        this.getScoreboard().ifPresent(player::setScoreboard);
-        this.getObjective();
+      final var player = this.getPlayer();
+      if (player != null && this.shared == null) {
+        final var current = this.resolve(player);
+        if (current != null) {
+          player.setScoreboard(current.getScoreboard());
+        }
       }
       this.setup.set(true);
     });
   }
-
-  /**
-   * a class that represents entries.
-   */
-  @RequiredArgsConstructor
-  private static final class Entry {
-
-    /**
-     * the identifier.
-     */
-    @NotNull
-    private final String identifier;
-
-    /**
-     * the scoreboard.
-     */
-    @NotNull
-    private final BukkitPlayerScoreboard scoreboard;
-
-    /**
-     * the line.
-     */
-    @NotNull
-    @Setter
-    private String line;
-
-    /**
-     * the team.
-     */
-    @Nullable
-    private Team team;
-
-    /**
-     * removes the entry.
-     */
-    private void remove() {
-      this.scoreboard.getIdentifiers().remove(this.identifier);
-      this.scoreboard.getScoreboard().ifPresent(score ->
-        score.resetScores(this.identifier));
-    }
-
-    /**
-     * sends the entry.
-     *
-     * @param position the position to send.
-     */
-    @Synchronized("team")
-    private void send(final int position) {
-      if (this.team == null) {
-        return;
-      }
-      if (this.line.length() > 64) {
-        var prefix = this.line.substring(0, 63);
-        String suffix;
-        if (prefix.charAt(62) == ChatColor.COLOR_CHAR) {
-          prefix = prefix.substring(0, 61);
-          suffix = this.line.substring(61);
-        } else if (prefix.charAt(61) == ChatColor.COLOR_CHAR) {
-          prefix = prefix.substring(0, 61);
-          suffix = this.line.substring(61);
-        } else if (ChatColor.getLastColors(prefix).equalsIgnoreCase(ChatColor.getLastColors(this.identifier))) {
-          suffix = this.line.substring(63);
-        } else {
-          suffix = ChatColor.getLastColors(prefix) + this.line.substring(63);
-        }
-        if (suffix.length() > 62) {
-          suffix = suffix.substring(0, 63);
-        }
-        this.team.setPrefix(prefix);
-        this.team.setSuffix(suffix);
-      } else {
-        this.team.setPrefix(this.line);
-        this.team.setSuffix("");
-      }
-      this.scoreboard.getObjective()
-        .map(objective -> objective.getScore(this.identifier))
-        .ifPresent(score -> score.setScore(position));
-    }
-
-    /**
-     * setups the entry.
-     */
-    private void setup() {
-      this.scoreboard.getScoreboard().ifPresent(score -> {
-        final var teamName = this.identifier.length() > 64
-          ? this.identifier.substring(0, 63)
-          : this.identifier;
-        var team = score.getTeam(teamName);
-        if (team == null) {
-          team = score.registerNewTeam(teamName);
-        }
-        if (team.getEntries().isEmpty() || !team.getEntries().contains(this.identifier)) {
-          team.addEntry(this.identifier);
-        }
-        if (!this.scoreboard.entries.contains(this)) {
-          this.scoreboard.entries.add(this);
-        }
-        this.team = team;
-      });
-    }
-  }
 }
@@ -31,6 +31,8 @@ import lombok.RequiredArgsConstructor;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.server.PluginDisableEvent;
 import org.bukkit.plugin.Plugin;
@@ -50,6 +52,13 @@ public final class BukkitScoreboard implements Listener, AutoCloseable {
   @Getter
   private final Plugin plugin;
 
+  /**
+   * the queue.
+   */
+  @NotNull
+  @Getter(AccessLevel.NONE)
+  private final BukkitApplyQueue queue;
+
   /**
    * the thread.
    */
@@ -66,12 +75,52 @@ public final class BukkitScoreboard implements Listener, AutoCloseable {
    */
   @NotNull
   public static BukkitScoreboard create(@NotNull final Plugin plugin, final long tick) {
-    return new BukkitScoreboard(plugin, new BukkitScoreboardThread(new BukkitScoreboardSender(plugin), tick));
+    return BukkitScoreboard.create(plugin, tick, BukkitApplyQueue.DEFAULT_BUDGET);
+  }
+
+  /**
+   * initiate the scoreboard system.
+   * <p>
+   * the scoreboards are rendered on the scoreboard thread and applied on the main thread, the budget limits the
+   * milliseconds that applying the scoreboards can take in a server tick, the rest is applied on the next ticks.
+   *
+   * @param plugin the plugin to initiate.
+   * @param tick the tick to initiate.
+   * @param budget the budget in milliseconds to initiate.
+   *
+   * @return a bukkit scoreboard sender instance to use.
+   */
+  @NotNull
+  public static BukkitScoreboard create(@NotNull final Plugin plugin, final long tick, final long budget) {
+    return BukkitScoreboard.create(plugin, tick, budget, false);
+  }
+
+  /**
+   * initiate the scoreboard system.
+   * <p>
+   * in the shared mode, the players of a board who see identical sidebars are attached to one shared Bukkit
+   * scoreboard which is updated once for all of them, and a player whose sidebar diverges moves to a scoreboard of its
+   * own until it matches the others again.
+   *
+   * @param plugin the plugin to initiate.
+   * @param tick the tick to initiate.
+   * @param budget the budget in milliseconds to initiate.
+   * @param shared the shared to initiate.
+   *
+   * @return a bukkit scoreboard sender instance to use.
+   */
+  @NotNull
+  public static BukkitScoreboard create(@NotNull final Plugin plugin, final long tick, final long budget,
+                                        final boolean shared) {
+    final var queue = new BukkitApplyQueue(plugin, budget);
+    final var sender = new BukkitScoreboardSender(plugin, queue, shared ? new BukkitSharedScoreboards() : null);
+    return new BukkitScoreboard(plugin, queue, new BukkitScoreboardThread(plugin, sender, tick));
   }
 
   @Override
   public void close() {
-    this.thread.interrupt();
+    this.thread.close();
+    this.queue.close();
     this.thread.getSender().close();
     HandlerList.unregisterAll(this);
   }
@@ -86,6 +135,26 @@ public final class BukkitScoreboard implements Listener, AutoCloseable {
     return this.thread.getSender();
   }
 
+  /**
+   * runs when a player changes the world.
+   *
+   * @param event the event to handle.
+   */
+  @EventHandler
+  public void handle(final PlayerChangedWorldEvent event) {
+    this.getSender().invalidate(event.getPlayer());
+  }
+
+  /**
+   * runs when a player joins.
+   *
+   * @param event the event to handle.
+   */
+  @EventHandler
+  public void handle(final PlayerJoinEvent event) {
+    this.getSender().invalidate(event.getPlayer());
+  }
+
   /**
    * runs when a player quits.
    *
@@ -111,6 +180,7 @@ public final class BukkitScoreboard implements Listener, AutoCloseable {
    */
   public void setup() {
     this.plugin.getServer().getPluginManager().registerEvents(this, this.plugin);
+    this.queue.start();
     this.thread.start();
   }
 }
@@ -36,11 +36,12 @@ import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
-import lombok.Synchronized;
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * a {@link Player} implementation of {@link ScoreboardSender}.
@@ -54,6 +55,18 @@ public final class BukkitScoreboardSender implements ScoreboardSender<Player> {
   @NotNull
   private final Plugin plugin;
 
+  /**
+   * the queue.
+   */
+  @NotNull
+  private final BukkitApplyQueue queue;
+
+  /**
+   * the shared scoreboards, {@code null} if the shared mode is disabled.
+   */
+  @Nullable
+  private final BukkitSharedScoreboards shared;
+
   /**
    * the scoreboards.
    */
@@ -67,13 +80,23 @@ public final class BukkitScoreboardSender implements ScoreboardSender<Player> {
   }
 
   @Override
-  @Synchronized("scoreboards")
+  public void leave(@NotNull final Board<Player> board, @NotNull final Collection<Player> observers) {
+    observers.forEach(player -> {
+      final var scoreboard = this.scoreboards.get(player.getUniqueId());
+      if (scoreboard != null && scoreboard.getBoard() == board &&
+        this.scoreboards.remove(player.getUniqueId(), scoreboard)) {
+        Bukkit.getScheduler().runTask(this.plugin, scoreboard::close);
+      }
+    });
+  }
+
+  @Override
   public void send(@NotNull final Board<Player> board, @NotNull final Collection<Player> observers,
                    @NotNull final List<Line<Player>> lines) {
     observers.stream()
       .map(Entity::getUniqueId)
       .map(uniqueId -> this.scoreboards.computeIfAbsent(uniqueId, uuid ->
-        BukkitPlayerScoreboard.create(board, lines, this.plugin, uuid)))
+        BukkitPlayerScoreboard.create(board, lines, this.plugin, this.queue, this.shared, uuid)))
       .forEach(scoreboard -> scoreboard.update(lines));
   }
 
@@ -83,19 +106,29 @@ public final class BukkitScoreboardSender implements ScoreboardSender<Player> {
    * @return scoreboards.
    */
   @NotNull
-  @Synchronized("scoreboards")
   public Collection<BukkitPlayerScoreboard> getScoreboards() {
     return this.scoreboards.values();
   }
 
+  /**
+   * invalidates the cached handles of the player's scoreboard.
+   *
+   * @param player the player to invalidate.
+   */
+  void invalidate(@NotNull final Player player) {
+    final var scoreboard = this.scoreboards.get(player.getUniqueId());
+    if (scoreboard != null) {
+      scoreboard.invalidate();
+    }
+  }
+
   /**
    * runs when the player quits from the game.
    *
    * @param player the player to quit.
    */
-  @Synchronized("scoreboards")
   void onQuit(@NotNull final Player player) {
     Optional.ofNullable(this.scoreboards.remove(player.getUniqueId()))
-      .ifPresent(scoreboard -> BukkitPlayerScoreboard.close(player));
+      .ifPresent(BukkitPlayerScoreboard::close);
   }
 }
@@ -22,56 +22,256 @@
  * SOFTWARE.
  *
  */
-
 package io.github.portlek.scoreboard.bukkit;
 
-import lombok.AccessLevel;
+import io.github.portlek.scoreboard.BoardScheduler;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
+import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * a class that represents Bukkit scoreboard thread..
+ * <p>
+ * the player scoreboards are ticked at a fixed rate by {@link BoardScheduler#shared()}, and each player is always
+ * ticked on the same lane of a small pool, so the players are ticked in parallel while a player is never ticked
+ * concurrently. a lane which is still busy from the previous tick is skipped instead of queueing up.
  */
-@Getter
-@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
-public final class BukkitScoreboardThread extends Thread {
+public final class BukkitScoreboardThread implements AutoCloseable {
+
+  /**
+   * the default lane count.
+   */
+  private static final int DEFAULT_LANES = Math.max(1, Math.min(4,
+    Runtime.getRuntime().availableProcessors() / 2));
+
+  /**
+   * the busy flags of the lanes.
+   */
+  @NotNull
+  private final AtomicBoolean[] busy;
+
+  /**
+   * the last tick drift in nanoseconds.
+   */
+  private final AtomicLong drift = new AtomicLong();
+
+  /**
+   * the lanes.
+   */
+  @NotNull
+  private final ExecutorService[] lanes;
+
+  /**
+   * the maximum tick drift in nanoseconds.
+   */
+  private final AtomicLong maximumDrift = new AtomicLong();
+
+  /**
+   * the period in nanoseconds.
+   */
+  private final long period;
+
+  /**
+   * the plugin.
+   */
+  @NotNull
+  private final Plugin plugin;
 
   /**
    * the sender.
    */
   @NotNull
+  @Getter
   private final BukkitScoreboardSender sender;
 
+  /**
+   * the skipped lane ticks.
+   */
+  private final AtomicLong skipped = new AtomicLong();
+
+  /**
+   * the start time in nanoseconds.
+   */
+  private volatile long startTime;
+
+  /**
+   * the task.
+   */
+  @Nullable
+  private volatile BoardScheduler.Task task;
+
   /**
    * the tick.
    */
+  @Getter
   private final long tick;
 
+  /**
+   * the ticks.
+   */
+  private final AtomicLong ticks = new AtomicLong();
+
+  /**
+   * ctor.
+   *
+   * @param plugin the plugin.
+   * @param sender the sender.
+   * @param tick the tick.
+   */
+  BukkitScoreboardThread(@NotNull final Plugin plugin, @NotNull final BukkitScoreboardSender sender,
+                         final long tick) {
+    if (tick < 1L) {
+      throw new IllegalArgumentException("The tick must be positive!");
+    }
+    this.plugin = plugin;
+    this.sender = sender;
+    this.tick = tick;
+    this.period = TimeUnit.MILLISECONDS.toNanos(tick * 50L);
+    this.busy = new AtomicBoolean[BukkitScoreboardThread.DEFAULT_LANES];
+    this.lanes = new ExecutorService[BukkitScoreboardThread.DEFAULT_LANES];
+    for (var index = 0; index < this.lanes.length; index++) {
+      final var name = "scoreboard-bukkit-lane-" + (index + 1);
+      this.busy[index] = new AtomicBoolean();
+      this.lanes[index] = Executors.newSingleThreadExecutor(runnable -> {
+        final var thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+  }
+
   @Override
-  public void run() {
-    while (true) {
-      try {
-        this.tick();
-        //noinspection BusyWait
-        Thread.sleep(this.tick * 50);
-      } catch (final InterruptedException ignored) {
+  public void close() {
+    final var current = this.task;
+    if (current != null) {
+      current.cancel();
+      this.task = null;
+    }
+    for (final var lane : this.lanes) {
+      lane.shutdownNow();
+    }
+  }
+
+  /**
+   * obtains the last tick drift, which is the delay between the scheduled and the actual start of the last tick.
+   *
+   * @param unit the unit to obtain.
+   *
+   * @return last tick drift.
+   */
+  public long getDrift(@NotNull final TimeUnit unit) {
+    return unit.convert(this.drift.get(), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * obtains the maximum tick drift.
+   *
+   * @param unit the unit to obtain.
+   *
+   * @return maximum tick drift.
+   */
+  public long getMaximumDrift(@NotNull final TimeUnit unit) {
+    return unit.convert(this.maximumDrift.get(), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * obtains the count of the lane ticks which are skipped since the lane was still busy.
+   *
+   * @return skipped lane ticks.
+   */
+  public long getSkipped() {
+    return this.skipped.get();
+  }
+
+  /**
+   * checks if none of the lanes is ticking.
+   *
+   * @return {@code true} if the lanes are idle.
+   */
+  boolean isIdle() {
+    for (final var flag : this.busy) {
+      if (flag.get()) {
+        return false;
       }
     }
+    return true;
+  }
+
+  /**
+   * starts ticking the scoreboards.
+   */
+  public void start() {
+    if (this.task != null) {
+      return;
+    }
+    this.ticks.set(0L);
+    this.startTime = System.nanoTime();
+    this.task = BoardScheduler.shared().schedule(this::tick, 0L, this.tick * 50L, false);
   }
 
   /**
    * runs every {@link #tick} times 50.
    */
   private void tick() {
-    this.sender.getScoreboards().forEach(scoreboard -> {
+    final var now = System.nanoTime();
+    final var expected = this.startTime + this.ticks.getAndIncrement() * this.period;
+    final var late = Math.max(0L, now - expected);
+    this.drift.set(late);
+    this.maximumDrift.accumulateAndGet(late, Math::max);
+    if (late >= this.period) {
+      this.ticks.addAndGet(late / this.period);
+    }
+    final var partitions = new ArrayList<List<BukkitPlayerScoreboard>>(this.lanes.length);
+    for (var index = 0; index < this.lanes.length; index++) {
+      partitions.add(new ArrayList<>());
+    }
+    this.sender.getScoreboards().forEach(scoreboard ->
+      partitions.get(Math.floorMod(scoreboard.getUniqueId().hashCode(), this.lanes.length)).add(scoreboard));
+    for (var index = 0; index < this.lanes.length; index++) {
+      final var partition = partitions.get(index);
+      if (partition.isEmpty()) {
+        continue;
+      }
+      final var flag = this.busy[index];
+      if (!flag.compareAndSet(false, true)) {
+        this.skipped.incrementAndGet();
+        continue;
+      }
       try {
-        scoreboard.tick();
-      } catch (final Exception e) {
-        e.printStackTrace();
-        throw new IllegalStateException(String.format("There was an error updating %s's scoreboard.",
-          scoreboard.getUniqueId()));
+        this.lanes[index].execute(() -> {
+          try {
+            partition.forEach(this::tick);
+          } finally {
+            flag.set(false);
+          }
+        });
+      } catch (final RejectedExecutionException e) {
+        flag.set(false);
       }
-    });
+    }
+  }
+
+  /**
+   * ticks the scoreboard in isolation, so a failing scoreboard doesn't prevent the others from ticking.
+   *
+   * @param scoreboard the scoreboard to tick.
+   */
+  private void tick(@NotNull final BukkitPlayerScoreboard scoreboard) {
+    try {
+      scoreboard.tick();
+    } catch (final Exception e) {
+      this.plugin.getLogger().log(Level.SEVERE, String.format("There was an error updating %s's scoreboard.",
+        scoreboard.getUniqueId()), e);
+    }
   }
 }
@@ -0,0 +1,235 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package io.github.portlek.scoreboard.bukkit;
+
+import io.github.portlek.scoreboard.Board;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * a class that represents the shared mode of the Bukkit scoreboards.
+ * <p>
+ * the players of a board whose rendered sidebars are identical see one shared Bukkit scoreboard, which is updated
+ * once for the whole group. a group keeps the scoreboard which its members saw on the previous tick, so the shared
+ * scoreboards are updated in place, and a player whose sidebar diverges from the others moves to a scoreboard of its
+ * own until its sidebar matches a group again, so the scoreboard stays with the members which still see its render
+ * and only the divergent player is sent a new scoreboard. the shared scoreboards are only accessed by the main
+ * thread.
+ */
+final class BukkitSharedScoreboards {
+
+  /**
+   * the maximum idle sidebar count of each board.
+   */
+  private static final int MAX_IDLE = 8;
+
+  /**
+   * the groups of the boards.
+   */
+  private final Map<Board<?>, Groups> boards = new IdentityHashMap<>();
+
+  /**
+   * applies the render of the member to the shared scoreboard of its group.
+   *
+   * @param member the member to apply.
+   * @param player the player to apply.
+   * @param render the render to apply.
+   *
+   * @return {@code false} if the scoreboard manager is not available.
+   */
+  boolean apply(@NotNull final BukkitPlayerScoreboard member, @NotNull final Player player,
+                @NotNull final BukkitSidebar.Rendered render) {
+    final var board = member.getBoard();
+    final var groups = this.boards.computeIfAbsent(board, key -> new Groups());
+    if (render.getTick() != groups.tick) {
+      groups.tick = render.getTick();
+      groups.claimed.clear();
+      groups.owners.clear();
+    }
+    final var previous = member.getSidebar();
+    var target = groups.claimed.get(render);
+    if (target == null) {
+      if (previous != null && !groups.owners.contains(previous)) {
+        final var applied = previous.getApplied();
+        if (applied != null && this.isShown(previous, member, applied, render.getTick())) {
+          groups.claimed.put(applied, previous);
+          groups.owners.add(previous);
+        } else {
+          target = previous;
+        }
+      }
+      if (target == null) {
+        target = groups.idle.poll();
+      }
+      if (target == null) {
+        final var scoreboardManager = Bukkit.getScoreboardManager();
+        if (scoreboardManager == null) {
+          return false;
+        }
+        target = new BukkitSidebar(scoreboardManager.getNewScoreboard());
+      }
+      groups.claimed.put(render, target);
+      groups.owners.add(target);
+      if (!render.equals(target.getApplied())) {
+        target.apply(render, board.getType(), board.getMetrics());
+        this.regroup(target, member, render);
+      }
+    }
+    if (previous != target) {
+      if (previous == null) {
+        groups.members++;
+      } else {
+        this.detach(groups, previous, member);
+      }
+      target.getMembers().add(member);
+      member.setSidebar(target);
+    }
+    if (player.getScoreboard() != target.getScoreboard()) {
+      player.setScoreboard(target.getScoreboard());
+    }
+    return true;
+  }
+
+  /**
+   * removes the member from its shared scoreboard.
+   *
+   * @param member the member to leave.
+   */
+  void leave(@NotNull final BukkitPlayerScoreboard member) {
+    final var sidebar = member.getSidebar();
+    final var groups = this.boards.get(member.getBoard());
+    if (sidebar == null || groups == null) {
+      return;
+    }
+    this.detach(groups, sidebar, member);
+    member.setSidebar(null);
+    if (--groups.members == 0) {
+      this.boards.remove(member.getBoard());
+    }
+  }
+
+  /**
+   * removes the member from the sidebar and makes the sidebar idle if it has no members anymore.
+   *
+   * @param groups the groups to detach.
+   * @param sidebar the sidebar to detach.
+   * @param member the member to detach.
+   */
+  private void detach(@NotNull final Groups groups, @NotNull final BukkitSidebar sidebar,
+                      @NotNull final BukkitPlayerScoreboard member) {
+    if (!sidebar.getMembers().remove(member) || !sidebar.getMembers().isEmpty()) {
+      return;
+    }
+    groups.owners.remove(sidebar);
+    groups.claimed.values().remove(sidebar);
+    if (groups.idle.size() < BukkitSharedScoreboards.MAX_IDLE) {
+      groups.idle.add(sidebar);
+    }
+  }
+
+  /**
+   * checks if any other member of the sidebar has rendered the tick and still sees the applied render of the sidebar.
+   *
+   * @param sidebar the sidebar to check.
+   * @param member the member which diverges from the sidebar.
+   * @param applied the applied render of the sidebar.
+   * @param tick the tick of the render of the member.
+   *
+   * @return {@code true} if the sidebar should stay with its other members.
+   */
+  private boolean isShown(@NotNull final BukkitSidebar sidebar, @NotNull final BukkitPlayerScoreboard member,
+                          @NotNull final BukkitSidebar.Rendered applied, final long tick) {
+    for (final var other : sidebar.getMembers()) {
+      if (other == member || other.isClosed()) {
+        continue;
+      }
+      final var latest = other.getRendered();
+      if (latest != null && latest.getTick() >= tick && applied.equals(latest)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * regroups the other members of the sidebar which haven't rendered the render yet, so a member whose next render is
+   * still the previous render of the sidebar is applied again and leaves the updated sidebar.
+   *
+   * @param sidebar the sidebar to regroup.
+   * @param member the member which updated the sidebar.
+   * @param render the render of the sidebar.
+   */
+  private void regroup(@NotNull final BukkitSidebar sidebar, @NotNull final BukkitPlayerScoreboard member,
+                       @NotNull final BukkitSidebar.Rendered render) {
+    for (final var other : sidebar.getMembers()) {
+      if (other == member || other.isClosed()) {
+        continue;
+      }
+      final var latest = other.getRendered();
+      if (latest == null || latest.getTick() < render.getTick() || !render.equals(latest)) {
+        other.regroup();
+      }
+    }
+  }
+
+  /**
+   * a class that represents the shared scoreboard groups of a board.
+   */
+  private static final class Groups {
+
+    /**
+     * the sidebars which are claimed by the renders of the current tick.
+     */
+    private final Map<BukkitSidebar.Rendered, BukkitSidebar> claimed = new HashMap<>();
+
+    /**
+     * the idle sidebars which can be reused by the new groups.
+     */
+    private final Deque<BukkitSidebar> idle = new ArrayDeque<>();
+
+    /**
+     * the sidebars which are claimed in the current tick.
+     */
+    private final Set<BukkitSidebar> owners = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * the member count.
+     */
+    private int members;
+
+    /**
+     * the current tick.
+     */
+    private long tick = Long.MIN_VALUE;
+  }
+}
@@ -0,0 +1,405 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package io.github.portlek.scoreboard.bukkit;
+
+import io.github.portlek.scoreboard.BoardType;
+import io.github.portlek.scoreboard.ScoreboardMetrics;
+import io.github.portlek.scoreboard.line.LineLayout;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.bukkit.ChatColor;
+import org.bukkit.scoreboard.DisplaySlot;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a class that represents the sidebars of Bukkit scoreboards.
+ * <p>
+ * applies the rendered lines to the objective and the teams of a scoreboard, and only touches the values which are
+ * changed since the last apply. the sidebars are only accessed by the main thread.
+ */
+@RequiredArgsConstructor
+final class BukkitSidebar {
+
+  /**
+   * the maximum line count of the sidebar.
+   */
+  static final int MAX_LINES = 15;
+
+  /**
+   * the entry identifiers of the slots, shared by every sidebar.
+   */
+  private static final List<String> IDENTIFIERS = IntStream.range(0, BukkitSidebar.MAX_LINES)
+    .mapToObj(slot -> ChatColor.values()[slot].toString() + ChatColor.WHITE)
+    .collect(Collectors.toUnmodifiableList());
+
+  /**
+   * the last colors of the entry identifiers, which the suffixes inherit.
+   */
+  private static final List<String> IDENTIFIER_COLORS = BukkitSidebar.IDENTIFIERS.stream()
+    .map(ChatColor::getLastColors)
+    .collect(Collectors.toUnmodifiableList());
+
+  /**
+   * the layout of the lines, shared by every sidebar.
+   */
+  private static final LineLayout LAYOUT = LineLayout.create(BukkitLineColor.create(), 64);
+
+  /**
+   * the objective name.
+   */
+  private static final String OBJECTIVE = "SBoard";
+
+  /**
+   * the team names of the slots, shared by every sidebar.
+   */
+  private static final List<String> TEAM_NAMES = BukkitSidebar.IDENTIFIERS.stream()
+    .map(identifier -> identifier.length() > 64 ? identifier.substring(0, 63) : identifier)
+    .collect(Collectors.toUnmodifiableList());
+
+  /**
+   * the entries.
+   */
+  @NotNull
+  private final List<Entry> entries = new ArrayList<>();
+
+  /**
+   * the members which see the sidebar in the shared mode.
+   */
+  @NotNull
+  @Getter
+  private final Set<BukkitPlayerScoreboard> members = Collections.newSetFromMap(new IdentityHashMap<>());
+
+  /**
+   * the scoreboard.
+   */
+  @NotNull
+  @Getter
+  private final Scoreboard scoreboard;
+
+  /**
+   * the last applied render.
+   */
+  @Nullable
+  @Getter
+  private Rendered applied;
+
+  /**
+   * the lines changed in the current apply.
+   */
+  private int changed;
+
+  /**
+   * the objective.
+   */
+  @Nullable
+  private Objective objective;
+
+  /**
+   * the platform operations in the current apply.
+   */
+  private int operations;
+
+  /**
+   * applies the render to the scoreboard.
+   *
+   * @param render the render to apply.
+   * @param type the type to apply.
+   * @param metrics the metrics to record the changed lines and the platform operations.
+   */
+  void apply(@NotNull final Rendered render, @NotNull final BoardType type,
+             @NotNull final ScoreboardMetrics metrics) {
+    this.changed = 0;
+    this.operations = 0;
+    this.apply(render, type);
+    if (metrics.isEnabled()) {
+      metrics.recordLinesChanged(this.changed);
+      metrics.recordOperations(this.operations);
+    }
+  }
+
+  /**
+   * applies the render to the scoreboard.
+   *
+   * @param render the render to apply.
+   * @param type the type to apply.
+   */
+  private void apply(@NotNull final Rendered render, @NotNull final BoardType type) {
+    final var objective = this.getObjective(render.title);
+    if (!objective.getDisplayName().equals(render.title)) {
+      objective.setDisplayName(render.title);
+      this.operations++;
+    }
+    this.applied = render;
+    if (render.lines.isEmpty()) {
+      this.entries.forEach(Entry::remove);
+      this.entries.clear();
+      return;
+    }
+    if (render.lines.size() < this.entries.size()) {
+      final var stale = this.entries.subList(render.lines.size(), this.entries.size());
+      stale.forEach(Entry::remove);
+      stale.clear();
+    }
+    var cache = type.getStartNumber();
+    for (var index = 0; index < render.lines.size(); index++) {
+      final var line = render.lines.get(index);
+      final Entry entry;
+      if (index < this.entries.size()) {
+        entry = this.entries.get(index);
+        entry.setLine(line);
+      } else {
+        entry = new Entry(BukkitSidebar.IDENTIFIERS.get(index), BukkitSidebar.IDENTIFIER_COLORS.get(index), this,
+          BukkitSidebar.TEAM_NAMES.get(index), line);
+        this.entries.add(entry);
+      }
+      entry.setup();
+      entry.send(objective, type.isDescending() ? cache-- : cache++);
+    }
+  }
+
+  /**
+   * invalidates the cached objective and teams, so they are resolved again on the next apply.
+   */
+  void invalidate() {
+    this.applied = null;
+    this.objective = null;
+    this.entries.forEach(Entry::invalidate);
+  }
+
+  /**
+   * obtains the objective, registers it if it doesn't exist.
+   *
+   * @param title the title to register.
+   *
+   * @return objective.
+   */
+  @NotNull
+  private Objective getObjective(@NotNull final String title) {
+    if (this.objective != null) {
+      return this.objective;
+    }
+    var objective = this.scoreboard.getObjective(BukkitSidebar.OBJECTIVE);
+    if (objective == null) {
+      objective = this.scoreboard.registerNewObjective(BukkitSidebar.OBJECTIVE, "dummy", title);
+      objective.setDisplaySlot(DisplaySlot.SIDEBAR);
+      this.operations += 2;
+    }
+    this.objective = objective;
+    return objective;
+  }
+
+  /**
+   * a class that represents rendered sidebars.
+   */
+  @EqualsAndHashCode
+  @RequiredArgsConstructor
+  static final class Rendered {
+
+    /**
+     * the lines.
+     */
+    @NotNull
+    private final List<String> lines;
+
+    /**
+     * the board tick which the sidebar is rendered.
+     */
+    @Getter
+    @EqualsAndHashCode.Exclude
+    private final long tick;
+
+    /**
+     * the title.
+     */
+    @NotNull
+    private final String title;
+  }
+
+  /**
+   * a class that represents entries.
+   */
+  @RequiredArgsConstructor
+  private static final class Entry {
+
+    /**
+     * the identifier.
+     */
+    @NotNull
+    private final String identifier;
+
+    /**
+     * the last colors of the identifier.
+     */
+    @NotNull
+    private final String identifierColors;
+
+    /**
+     * the sidebar.
+     */
+    @NotNull
+    private final BukkitSidebar sidebar;
+
+    /**
+     * the team name.
+     */
+    @NotNull
+    private final String teamName;
+
+    /**
+     * the line.
+     */
+    @NotNull
+    @Setter
+    private String line;
+
+    /**
+     * the last sent prefix.
+     */
+    @Nullable
+    private String prefix;
+
+    /**
+     * the last sent score.
+     */
+    private int score;
+
+    /**
+     * the scored.
+     */
+    private boolean scored;
+
+    /**
+     * the last sent line.
+     */
+    @Nullable
+    private String sent;
+
+    /**
+     * the last sent suffix.
+     */
+    @Nullable
+    private String suffix;
+
+    /**
+     * the team.
+     */
+    @Nullable
+    private Team team;
+
+    /**
+     * invalidates the team, so it's resolved and sent again on the next setup.
+     */
+    private void invalidate() {
+      this.team = null;
+    }
+
+    /**
+     * removes the entry.
+     */
+    private void remove() {
+      this.sidebar.scoreboard.resetScores(this.identifier);
+      this.sidebar.operations++;
+      this.scored = false;
+    }
+
+    /**
+     * sends the entry.
+     * <p>
+     * the prefix, suffix and score are only sent if they are changed since the last send.
+     *
+     * @param objective the objective to send.
+     * @param position the position to send.
+     */
+    private void send(@NotNull final Objective objective, final int position) {
+      final var current = this.team;
+      if (current == null) {
+        return;
+      }
+      if (!this.line.equals(this.sent)) {
+        final var layout = BukkitSidebar.LAYOUT.apply(this.line);
+        final var prefix = layout.getPrefix();
+        final var suffix = layout.getSuffix(this.identifierColors);
+        if (!prefix.equals(this.prefix)) {
+          current.setPrefix(prefix);
+          this.prefix = prefix;
+          this.sidebar.operations++;
+        }
+        if (!suffix.equals(this.suffix)) {
+          current.setSuffix(suffix);
+          this.suffix = suffix;
+          this.sidebar.operations++;
+        }
+        this.sent = this.line;
+        this.sidebar.changed++;
+      }
+      if (this.scored && this.score == position) {
+        return;
+      }
+      objective.getScore(this.identifier).setScore(position);
+      this.sidebar.operations++;
+      this.score = position;
+      this.scored = true;
+    }
+
+    /**
+     * setups the entry.
+     * <p>
+     * the team is resolved only once, and kept until the entry is invalidated.
+     */
+    private void setup() {
+      if (this.team != null) {
+        return;
+      }
+      final var score = this.sidebar.scoreboard;
+      var team = score.getTeam(this.teamName);
+      if (team == null) {
+        team = score.registerNewTeam(this.teamName);
+        this.sidebar.operations++;
+      }
+      if (team.getEntries().isEmpty() || !team.getEntries().contains(this.identifier)) {
+        team.addEntry(this.identifier);
+        this.sidebar.operations++;
+      }
+      this.prefix = null;
+      this.scored = false;
+      this.sent = null;
+      this.suffix = null;
+      this.team = team;
+    }
+  }
+}
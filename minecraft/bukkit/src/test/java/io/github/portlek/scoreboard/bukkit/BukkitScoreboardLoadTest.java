@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.scoreboard.bukkit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import org.hamcrest.core.IsEqual;
+import org.hamcrest.number.OrderingComparison;
+import org.junit.jupiter.api.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+
+final class BukkitScoreboardLoadTest {
+
+  private static final long MAXIMUM_HEAP_GROWTH = Long.getLong("scoreboard.load.heap", 256L * 1024L * 1024L);
+
+  private static final long MAXIMUM_LATENCY = Long.getLong("scoreboard.load.latency", TimeUnit.SECONDS.toNanos(1L));
+
+  private static final Logger LOGGER = Logger.getLogger(BukkitScoreboardLoadTest.class.getName());
+
+  private static final int PLAYERS = Integer.getInteger("scoreboard.load.players", 200);
+
+  private static final int TICKS = Integer.getInteger("scoreboard.load.ticks", 20);
+
+  @Test
+  void load() throws InterruptedException {
+    final var server = FakeServer.get();
+    try (final var harness = new LoadHarness(server, BukkitScoreboardLoadTest.PLAYERS, false, true)) {
+      final var load = harness.run(BukkitScoreboardLoadTest.TICKS, 0.02D, 0.1D);
+      BukkitScoreboardLoadTest.LOGGER.info(load::toString);
+      new Assertion<>(
+        "Scoreboards weren't applied under load.",
+        load.getOperations() > 0L,
+        new IsEqual<>(true)
+      ).affirm();
+      new Assertion<>(
+        "A server tick took too long under load.",
+        load.getMaximumLatency(),
+        OrderingComparison.lessThan(BukkitScoreboardLoadTest.MAXIMUM_LATENCY)
+      ).affirm();
+      new Assertion<>(
+        "The heap grew too much under load.",
+        load.getHeapGrowth(),
+        OrderingComparison.lessThan(BukkitScoreboardLoadTest.MAXIMUM_HEAP_GROWTH)
+      ).affirm();
+      harness.run(10, 0.0D, 0.0D);
+      new Assertion<>(
+        "Unchanged scoreboards were sent again.",
+        harness.run(10, 0.0D, 0.0D).getOperations(),
+        new IsEqual<>(0L)
+      ).affirm();
+    }
+  }
+
+  @Test
+  void shared() throws InterruptedException {
+    final var server = FakeServer.get();
+    try (final var harness = new LoadHarness(server, BukkitScoreboardLoadTest.PLAYERS, true, false)) {
+      harness.run(10, 0.0D, 0.0D);
+      new Assertion<>(
+        "Players who see the same sidebar didn't share a scoreboard.",
+        server.getOperations().get("registerNewObjective"),
+        new IsEqual<>(1L)
+      ).affirm();
+    }
+  }
+
+  @Test
+  void divergent() throws InterruptedException {
+    final var server = FakeServer.get();
+    try (final var harness = new LoadHarness(server, BukkitScoreboardLoadTest.PLAYERS, true, false)) {
+      harness.run(10, 0.0D, 0.0D);
+      final var before = server.getOperations().get("setScoreboard");
+      harness.change(server.getPlayers().get(0));
+      harness.run(1, 0.0D, 0.0D);
+      new Assertion<>(
+        "Players who still see the shared sidebar were moved.",
+        server.getOperations().get("setScoreboard") - before,
+        new IsEqual<>(1L)
+      ).affirm();
+    }
+  }
+}
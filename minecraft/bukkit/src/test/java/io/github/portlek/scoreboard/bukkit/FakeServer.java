@@ -0,0 +1,542 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.scoreboard.bukkit;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.logging.Logger;
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+import org.bukkit.scoreboard.DisplaySlot;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Score;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.ScoreboardManager;
+import org.bukkit.scoreboard.Team;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a headless stand-in for the Bukkit server.
+ * <p>
+ * the server, the players, the scheduler and the scoreboards are dynamic proxies which implement only the methods
+ * the scoreboards use, so the harness works with any Bukkit API version. every mutation of a scoreboard is counted
+ * as a proxy for the packets a real server would send. the thread which calls {@link #tick()} acts as the main
+ * thread.
+ */
+final class FakeServer {
+
+  private static final Object NONE = new Object();
+
+  @Nullable
+  private static FakeServer instance;
+
+  private final Logger logger = Logger.getLogger("FakeServer");
+
+  private final Map<String, LongAdder> operations = new ConcurrentHashMap<>();
+
+  private final Map<UUID, Player> players = new ConcurrentHashMap<>();
+
+  private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+  private final AtomicInteger taskIds = new AtomicInteger();
+
+  private final List<Timer> timers = new CopyOnWriteArrayList<>();
+
+  @NotNull
+  private final Scoreboard mainScoreboard = this.newScoreboard();
+
+  @NotNull
+  private final Plugin plugin;
+
+  @NotNull
+  private final Server server;
+
+  private volatile long currentTick;
+
+  @Nullable
+  private volatile Thread mainThread;
+
+  private FakeServer() {
+    final var scheduler = this.newScheduler();
+    final ScoreboardManager manager = FakeServer.proxy(ScoreboardManager.class, (name, args) -> {
+      switch (name) {
+        case "getMainScoreboard":
+          return this.mainScoreboard;
+        case "getNewScoreboard":
+          this.count(name);
+          return this.newScoreboard();
+        default:
+          return FakeServer.NONE;
+      }
+    });
+    final PluginManager pluginManager = FakeServer.proxy(PluginManager.class, (name, args) -> FakeServer.NONE);
+    this.server = FakeServer.proxy(Server.class, (name, args) -> {
+      switch (name) {
+        case "getOnlinePlayers":
+          return List.copyOf(this.players.values());
+        case "getPlayer":
+          return args[0] instanceof UUID ? this.players.get(args[0]) : null;
+        case "getScheduler":
+          return scheduler;
+        case "getScoreboardManager":
+          return manager;
+        case "getPluginManager":
+          return pluginManager;
+        case "getLogger":
+          return this.logger;
+        case "isPrimaryThread":
+          return Thread.currentThread() == this.mainThread;
+        case "getName":
+        case "getVersion":
+        case "getBukkitVersion":
+          return "FakeServer";
+        default:
+          return FakeServer.NONE;
+      }
+    });
+    this.plugin = FakeServer.proxy(Plugin.class, (name, args) -> {
+      switch (name) {
+        case "getServer":
+          return this.server;
+        case "getLogger":
+          return this.logger;
+        case "getName":
+          return "ScoreboardHarness";
+        case "isEnabled":
+          return true;
+        default:
+          return FakeServer.NONE;
+      }
+    });
+  }
+
+  /**
+   * obtains the fake server, installs it as the Bukkit server on the first call and resets it on every call.
+   */
+  @NotNull
+  static synchronized FakeServer get() {
+    if (FakeServer.instance == null) {
+      FakeServer.instance = new FakeServer();
+      Bukkit.setServer(FakeServer.instance.server);
+    }
+    FakeServer.instance.reset();
+    return FakeServer.instance;
+  }
+
+  @NotNull
+  private static <T> T proxy(@NotNull final Class<T> type,
+                             @NotNull final BiFunction<String, Object[], Object> handler) {
+    return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+      final var name = method.getName();
+      if (method.getDeclaringClass() == Object.class) {
+        switch (name) {
+          case "equals":
+            return proxy == args[0];
+          case "hashCode":
+            return System.identityHashCode(proxy);
+          default:
+            return type.getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+        }
+      }
+      final var result = handler.apply(name, args);
+      if (result != FakeServer.NONE) {
+        return result;
+      }
+      final var returnType = method.getReturnType();
+      if (returnType == boolean.class) {
+        return false;
+      }
+      if (returnType == int.class) {
+        return 0;
+      }
+      if (returnType == long.class) {
+        return 0L;
+      }
+      if (returnType == double.class) {
+        return 0.0D;
+      }
+      if (returnType == float.class) {
+        return 0.0F;
+      }
+      return null;
+    }));
+  }
+
+  /**
+   * obtains the counts of the mutations by the method name.
+   */
+  @NotNull
+  Map<String, Long> getOperations() {
+    final var snapshot = new TreeMap<String, Long>();
+    this.operations.forEach((name, count) -> snapshot.put(name, count.sum()));
+    return snapshot;
+  }
+
+  /**
+   * obtains the total count of the mutations.
+   */
+  long getOperationCount() {
+    return this.operations.values().stream()
+      .mapToLong(LongAdder::sum)
+      .sum();
+  }
+
+  @NotNull
+  Plugin getPlugin() {
+    return this.plugin;
+  }
+
+  @NotNull
+  List<Player> getPlayers() {
+    return List.copyOf(this.players.values());
+  }
+
+  /**
+   * creates a player and brings it online.
+   */
+  @NotNull
+  Player join(@NotNull final String playerName) {
+    final var uniqueId = UUID.randomUUID();
+    final var scoreboard = new Scoreboard[]{this.mainScoreboard};
+    final Player player = FakeServer.proxy(Player.class, (name, args) -> {
+      switch (name) {
+        case "getUniqueId":
+          return uniqueId;
+        case "getName":
+        case "getDisplayName":
+          return playerName;
+        case "getScoreboard":
+          return scoreboard[0];
+        case "setScoreboard":
+          this.count(name);
+          scoreboard[0] = (Scoreboard) args[0];
+          return null;
+        case "isOnline":
+        case "isValid":
+          return this.players.containsKey(uniqueId);
+        default:
+          return FakeServer.NONE;
+      }
+    });
+    this.players.put(uniqueId, player);
+    return player;
+  }
+
+  /**
+   * takes the player offline.
+   */
+  void quit(@NotNull final Player player) {
+    this.players.remove(player.getUniqueId());
+  }
+
+  /**
+   * runs a server tick on the calling thread, which is the main thread from now on.
+   */
+  void tick() {
+    this.mainThread = Thread.currentThread();
+    final var now = ++this.currentTick;
+    for (var size = this.tasks.size(); size > 0; size--) {
+      final var task = this.tasks.poll();
+      if (task == null) {
+        break;
+      }
+      task.run();
+    }
+    for (final var timer : this.timers) {
+      if (timer.cancelled || timer.next > now) {
+        continue;
+      }
+      timer.runnable.run();
+      if (timer.period > 0L) {
+        timer.next = now + timer.period;
+      } else {
+        timer.cancelled = true;
+        this.timers.remove(timer);
+      }
+    }
+  }
+
+  private void count(@NotNull final String operation) {
+    this.operations.computeIfAbsent(operation, key -> new LongAdder()).increment();
+  }
+
+  @NotNull
+  private BukkitScheduler newScheduler() {
+    return FakeServer.proxy(BukkitScheduler.class, (name, args) -> {
+      switch (name) {
+        case "runTask":
+          this.tasks.add((Runnable) args[1]);
+          return this.newTask(null);
+        case "runTaskAsynchronously":
+          ForkJoinPool.commonPool().execute((Runnable) args[1]);
+          return this.newTask(null);
+        case "runTaskLater":
+          return this.schedule((Runnable) args[1], (long) args[2], 0L);
+        case "runTaskTimer":
+          return this.schedule((Runnable) args[1], (long) args[2], (long) args[3]);
+        default:
+          return FakeServer.NONE;
+      }
+    });
+  }
+
+  @NotNull
+  private Scoreboard newScoreboard() {
+    final var objectives = new ConcurrentHashMap<String, Objective>();
+    final var teams = new ConcurrentHashMap<String, Team>();
+    final var scores = new ConcurrentHashMap<String, Map<String, Integer>>();
+    final var holder = new Scoreboard[1];
+    holder[0] = FakeServer.proxy(Scoreboard.class, (name, args) -> {
+      switch (name) {
+        case "registerNewObjective":
+          this.count(name);
+          final var objective = this.newObjective(holder[0], (String) args[0],
+            args.length > 2 ? (String) args[2] : (String) args[0], scores, objectives);
+          objectives.put((String) args[0], objective);
+          return objective;
+        case "getObjective":
+          if (args[0] instanceof DisplaySlot) {
+            return objectives.values().stream()
+              .filter(objective1 -> objective1.getDisplaySlot() == args[0])
+              .findFirst()
+              .orElse(null);
+          }
+          return objectives.get(args[0]);
+        case "getObjectives":
+          return Set.copyOf(objectives.values());
+        case "registerNewTeam":
+          this.count(name);
+          final var team = this.newTeam(holder[0], (String) args[0], teams);
+          teams.put((String) args[0], team);
+          return team;
+        case "getTeam":
+          return teams.get(args[0]);
+        case "getTeams":
+          return Set.copyOf(teams.values());
+        case "getEntryTeam":
+          return teams.values().stream()
+            .filter(team1 -> team1.hasEntry((String) args[0]))
+            .findFirst()
+            .orElse(null);
+        case "getEntries":
+          return Set.copyOf(scores.keySet());
+        case "resetScores":
+          this.count(name);
+          scores.remove(args[0]);
+          return null;
+        default:
+          return FakeServer.NONE;
+      }
+    });
+    return holder[0];
+  }
+
+  @NotNull
+  private Objective newObjective(@NotNull final Scoreboard scoreboard, @NotNull final String objectiveName,
+                                 @NotNull final String displayName,
+                                 @NotNull final Map<String, Map<String, Integer>> scores,
+                                 @NotNull final Map<String, Objective> objectives) {
+    final var state = new Object[]{displayName, null};
+    final var holder = new Objective[1];
+    holder[0] = FakeServer.proxy(Objective.class, (name, args) -> {
+      switch (name) {
+        case "getName":
+          return objectiveName;
+        case "getDisplayName":
+          return state[0];
+        case "setDisplayName":
+          this.count(name);
+          state[0] = args[0];
+          return null;
+        case "getDisplaySlot":
+          return state[1];
+        case "setDisplaySlot":
+          this.count(name);
+          state[1] = args[0];
+          return null;
+        case "getScore":
+          return this.newScore(holder[0], (String) args[0], scores);
+        case "getScoreboard":
+          return scoreboard;
+        case "unregister":
+          this.count(name);
+          objectives.remove(objectiveName);
+          scores.values().forEach(entries -> entries.remove(objectiveName));
+          return null;
+        default:
+          return FakeServer.NONE;
+      }
+    });
+    return holder[0];
+  }
+
+  @NotNull
+  private Score newScore(@NotNull final Objective objective, @NotNull final String entry,
+                         @NotNull final Map<String, Map<String, Integer>> scores) {
+    return FakeServer.proxy(Score.class, (name, args) -> {
+      final var entries = scores.get(entry);
+      switch (name) {
+        case "getEntry":
+          return entry;
+        case "getObjective":
+          return objective;
+        case "getScore":
+          return entries == null ? 0 : entries.getOrDefault(objective.getName(), 0);
+        case "isScoreSet":
+          return entries != null && entries.containsKey(objective.getName());
+        case "setScore":
+          this.count(name);
+          scores.computeIfAbsent(entry, key -> new ConcurrentHashMap<>()).put(objective.getName(), (Integer) args[0]);
+          return null;
+        default:
+          return FakeServer.NONE;
+      }
+    });
+  }
+
+  @NotNull
+  private BukkitTask newTask(@Nullable final Timer timer) {
+    final var id = this.taskIds.incrementAndGet();
+    return FakeServer.proxy(BukkitTask.class, (name, args) -> {
+      switch (name) {
+        case "getTaskId":
+          return id;
+        case "getOwner":
+          return this.plugin;
+        case "isSync":
+          return true;
+        case "isCancelled":
+          return timer != null && timer.cancelled;
+        case "cancel":
+          if (timer != null) {
+            timer.cancelled = true;
+            this.timers.remove(timer);
+          }
+          return null;
+        default:
+          return FakeServer.NONE;
+      }
+    });
+  }
+
+  @NotNull
+  private Team newTeam(@NotNull final Scoreboard scoreboard, @NotNull final String teamName,
+                       @NotNull final Map<String, Team> teams) {
+    final var entries = ConcurrentHashMap.<String>newKeySet();
+    final var state = new String[]{"", ""};
+    return FakeServer.proxy(Team.class, (name, args) -> {
+      switch (name) {
+        case "getName":
+        case "getDisplayName":
+          return teamName;
+        case "getPrefix":
+          return state[0];
+        case "setPrefix":
+          this.count(name);
+          state[0] = (String) args[0];
+          return null;
+        case "getSuffix":
+          return state[1];
+        case "setSuffix":
+          this.count(name);
+          state[1] = (String) args[0];
+          return null;
+        case "getEntries":
+          return Set.copyOf(entries);
+        case "addEntry":
+          this.count(name);
+          entries.add((String) args[0]);
+          return null;
+        case "removeEntry":
+          this.count(name);
+          return entries.remove(args[0]);
+        case "hasEntry":
+          return entries.contains(args[0]);
+        case "getSize":
+          return entries.size();
+        case "getScoreboard":
+          return scoreboard;
+        case "unregister":
+          this.count(name);
+          teams.remove(teamName);
+          return null;
+        default:
+          return FakeServer.NONE;
+      }
+    });
+  }
+
+  private void reset() {
+    this.operations.clear();
+    this.players.clear();
+    this.tasks.clear();
+    this.timers.clear();
+    this.currentTick = 0L;
+  }
+
+  @NotNull
+  private BukkitTask schedule(@NotNull final Runnable runnable, final long delay, final long period) {
+    final var timer = new Timer(runnable, period);
+    timer.next = this.currentTick + Math.max(1L, delay);
+    this.timers.add(timer);
+    return this.newTask(timer);
+  }
+
+  private static final class Timer {
+
+    private final long period;
+
+    @NotNull
+    private final Runnable runnable;
+
+    private volatile boolean cancelled;
+
+    private volatile long next;
+
+    private Timer(@NotNull final Runnable runnable, final long period) {
+      this.runnable = runnable;
+      this.period = period;
+    }
+  }
+}
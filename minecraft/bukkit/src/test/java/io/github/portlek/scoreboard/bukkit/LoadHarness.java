@@ -0,0 +1,222 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.scoreboard.bukkit;
+
+import io.github.portlek.scoreboard.Board;
+import io.github.portlek.scoreboard.line.Line;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * a load harness which drives {@link BukkitScoreboard} on the {@link FakeServer} with simulated players who join,
+ * quit and change their data, and reports the mutations per tick, the main thread latency of a tick and the heap
+ * growth.
+ * <p>
+ * each tick of the harness sends the board, waits until the lanes of the scoreboard thread have rendered the board
+ * tick for every player and gone idle, and then runs the server tick which applies the rendered scoreboards.
+ */
+final class LoadHarness implements AutoCloseable {
+
+  private static final long TIMEOUT = TimeUnit.SECONDS.toNanos(30L);
+
+  private final Board<Player> board;
+
+  private final Map<UUID, Integer> coins = new ConcurrentHashMap<>();
+
+  private final AtomicInteger names = new AtomicInteger();
+
+  private final Random random = new Random(42L);
+
+  private final BukkitScoreboard scoreboard;
+
+  private final FakeServer server;
+
+  /**
+   * ctor.
+   *
+   * @param server the server.
+   * @param players the initial player count.
+   * @param shared the shared mode of the scoreboards.
+   * @param personal whether the lines contain the name of the player, so no two players see the same sidebar.
+   */
+  LoadHarness(@NotNull final FakeServer server, final int players, final boolean shared, final boolean personal) {
+    this.server = server;
+    this.scoreboard = BukkitScoreboard.create(server.getPlugin(), 1L, BukkitApplyQueue.DEFAULT_BUDGET, shared);
+    final var builder = Board.newBuilder(Player.class)
+      .addDynamicObserverList(server::getPlayers)
+      .setScoreboardSender(this.scoreboard.getSender())
+      .setTitleLine(Line.immutable("&6&lHarness"))
+      .addLines(
+        Line.global(() -> "&fOnline: &a" + server.getPlayers().size()),
+        Line.dynamic(player -> "&fCoins: &6" + this.coins.getOrDefault(player.getUniqueId(), 0)));
+    if (personal) {
+      builder.addLines(Line.dynamic(player -> "&fName: &e" + player.getName()));
+    }
+    this.board = builder.build();
+    this.scoreboard.setup();
+    for (var index = 0; index < players; index++) {
+      this.join();
+    }
+  }
+
+  @Override
+  public void close() {
+    this.board.close();
+    this.scoreboard.close();
+  }
+
+  /**
+   * runs the harness.
+   *
+   * @param ticks the tick count to run.
+   * @param churn the fraction of the players who quit and are replaced by new players on each tick.
+   * @param changes the fraction of the players whose data changes on each tick.
+   *
+   * @return report of the run.
+   *
+   * @throws InterruptedException if the thread is interrupted while waiting for the lanes.
+   * @throws IllegalStateException if the lanes don't render a tick in time.
+   */
+  @NotNull
+  Report run(final int ticks, final double churn, final double changes) throws InterruptedException {
+    final var runtime = Runtime.getRuntime();
+    System.gc();
+    final var heap = runtime.totalMemory() - runtime.freeMemory();
+    final var start = this.server.getOperationCount();
+    var maximumOperations = 0L;
+    var latency = 0L;
+    var maximumLatency = 0L;
+    for (var tick = 0; tick < ticks; tick++) {
+      final var players = new ArrayList<>(this.server.getPlayers());
+      final var quits = (int) (players.size() * churn);
+      for (var index = 0; index < quits; index++) {
+        this.quit(players.remove(this.random.nextInt(players.size())));
+        this.join();
+      }
+      final var updates = (int) (players.size() * changes);
+      for (var index = 0; index < updates; index++) {
+        final var player = players.get(this.random.nextInt(players.size()));
+        this.coins.merge(player.getUniqueId(), 1, Integer::sum);
+      }
+      this.board.send();
+      this.awaitLanes();
+      final var before = this.server.getOperationCount();
+      final var begin = System.nanoTime();
+      this.server.tick();
+      final var elapsed = System.nanoTime() - begin;
+      latency += elapsed;
+      maximumLatency = Math.max(maximumLatency, elapsed);
+      maximumOperations = Math.max(maximumOperations, this.server.getOperationCount() - before);
+    }
+    System.gc();
+    final var operations = this.server.getOperationCount() - start;
+    return new Report(runtime.totalMemory() - runtime.freeMemory() - heap, maximumLatency, maximumOperations,
+      operations, this.server.getPlayers().size(), ticks, ticks == 0 ? 0L : latency / ticks);
+  }
+
+  /**
+   * changes the data of the player, so its sidebar diverges from the others.
+   *
+   * @param player the player to change.
+   */
+  void change(@NotNull final Player player) {
+    this.coins.merge(player.getUniqueId(), 1, Integer::sum);
+  }
+
+  private void awaitLanes() throws InterruptedException {
+    final var tick = this.board.getRenderer().getTick();
+    final var deadline = System.nanoTime() + LoadHarness.TIMEOUT;
+    while (!this.isRendered(tick) || !this.scoreboard.getThread().isIdle()) {
+      if (System.nanoTime() - deadline > 0L) {
+        throw new IllegalStateException(String.format("Lanes didn't render the tick %d in time.", tick));
+      }
+      TimeUnit.MILLISECONDS.sleep(1L);
+    }
+  }
+
+  private boolean isRendered(final long tick) {
+    for (final var scoreboard : this.scoreboard.getSender().getScoreboards()) {
+      if (scoreboard.getBoard() != this.board || !scoreboard.isSetup()) {
+        continue;
+      }
+      final var rendered = scoreboard.getRendered();
+      if (rendered == null || rendered.getTick() < tick) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void join() {
+    final var player = this.server.join("player-" + this.names.incrementAndGet());
+    this.scoreboard.handle(new PlayerJoinEvent(player, ""));
+  }
+
+  private void quit(@NotNull final Player player) {
+    this.server.quit(player);
+    this.coins.remove(player.getUniqueId());
+    this.scoreboard.handle(new PlayerQuitEvent(player, ""));
+  }
+
+  /**
+   * a class that represents the reports of the runs.
+   */
+  @Getter
+  @ToString
+  @RequiredArgsConstructor
+  static final class Report {
+
+    private final long heapGrowth;
+
+    private final long maximumLatency;
+
+    private final long maximumOperations;
+
+    private final long operations;
+
+    private final int players;
+
+    private final int ticks;
+
+    private final long averageLatency;
+
+    double getOperationsPerTick() {
+      return this.ticks == 0 ? 0.0D : (double) this.operations / this.ticks;
+    }
+  }
+}